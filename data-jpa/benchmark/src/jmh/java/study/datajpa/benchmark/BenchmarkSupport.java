@@ -0,0 +1,29 @@
+package study.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+/**
+ * 벤치마크용 애플리케이션 실행
+ * 메모리 H2 를 사용하고, SQL 로그는 끈다.
+ */
+public class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.p6spy=warn",
+                        "decorator.datasource.p6spy.enable-logging=false")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,102 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 회원 대량 저장 - 초당 insert row 수 (rows 보조 지표, rows/s)
+ * saveAll: 트랜잭션 1번, 영속성 컨텍스트에 전부 쌓은 뒤 커밋 시점에 flush
+ * persistAll: 청크마다 flush + detach (datajpa.batch-insert.chunk-size)
+ * batchSize=1 이면 JDBC batch 없이 한 row 씩 insert 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class MemberInsertBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int memberCount;
+
+    @Param({"1", "100"})
+    int batchSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    JdbcTemplate jdbcTemplate;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * 저장한 회원이 계속 쌓이지 않도록 iteration 마다 비운다.
+     */
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveAll(Rows rows) {
+        List<Member> members = newMembers();
+        tx.executeWithoutResult(status -> memberRepository.saveAll(members));
+        rows.rows += members.size();
+    }
+
+    @Benchmark
+    public void persistAll(Rows rows) {
+        rows.rows += memberRepository.persistAll(newMembers());
+    }
+
+    private List<Member> newMembers() {
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Member("bench-member" + i, i % 100));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.controller;
+
+/**
+ * 형식이나 서명이 맞지 않는 스크롤 토큰
+ */
+public class InvalidScrollTokenException extends RuntimeException {
+
+    public InvalidScrollTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidScrollTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,22 +1,36 @@
 package study.datajpa.controller;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.CountStrategy;
 import study.datajpa.repository.MemberRepository;
 
 @RequiredArgsConstructor
 @RestController
 public class MemberController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final MemberRepository memberRepository;
+    private final ScrollTokenCodec scrollTokenCodec;
 
     @GetMapping("/members/v1/{id}")
     public String findMember(@PathVariable Long id) {
@@ -34,17 +48,52 @@ public class MemberController {
 
     /**
      * 페이징과 정렬
+     * count=CACHED|ESTIMATED 로 전체 수 count 쿼리를 캐시/통계 값으로 대신할 수 있다. (기본 EXACT)
      */
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable) {
-        return memberRepository.findAll(pageable)
+    public Page<MemberDto> list(@PageableDefault(size = 5) Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count) {
+        return memberRepository.findAll(pageable, count)
                 .map(MemberDto::new);
     }
 
+    /**
+     * keyset 스크롤 - (username, id) 순
+     * 이전 응답의 nextToken 을 token 으로 넘기면 다음 목록을 조회한다. (count 쿼리, offset 없음)
+     * 마지막 목록이면 nextToken 은 null
+     */
+    @GetMapping("/members/scroll")
+    public ScrollResult<MemberDto> scroll(@RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "5") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Window<Member> window = memberRepository.scrollByUsername(scrollTokenCodec.decode(token), limit);
+
+        String nextToken = window.hasNext() && !window.isEmpty()
+                ? scrollTokenCodec.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new ScrollResult<>(window.map(MemberDto::new).getContent(), nextToken);
+    }
+
+    @ExceptionHandler(InvalidScrollTokenException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidScrollToken(InvalidScrollTokenException e) {
+        return e.getMessage();
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ScrollResult<T> {
+
+        private List<T> content;
+        private String nextToken;
+    }
+
     @PostConstruct
     public void init() {
+        List<Member> members = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("member" + i, i));
+            members.add(new Member("member" + i, i));
         }
+        memberRepository.persistAll(members); // 트랜잭션 1번, JDBC batch insert
     }
 }
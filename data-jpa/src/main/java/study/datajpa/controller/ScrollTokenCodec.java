@@ -0,0 +1,91 @@
+package study.datajpa.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 회원 스크롤 토큰
+ * keyset 위치 (username, id) 를 "payload.signature" 형태의 토큰으로 만든다. (Base64URL)
+ * 서명(HmacSHA256)을 검증하므로 클라이언트가 토큰을 조작해서 임의 위치를 넘길 수 없다.
+ * datajpa.scroll.token-secret 을 지정하지 않으면 실행할 때마다 키를 새로 만든다. (재시작하면 이전 토큰은 무효)
+ */
+@Component
+public class ScrollTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String DELIMITER = "|";
+
+    private final SecretKeySpec key;
+
+    public ScrollTokenCodec(@Value("${datajpa.scroll.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (StringUtils.hasText(secret)) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String encode(KeysetScrollPosition position) {
+        Map<String, Object> keys = position.getKeys();
+        String raw = keys.get("id") + DELIMITER + keys.get("username");
+        byte[] payload = raw.getBytes(StandardCharsets.UTF_8);
+        return encoder().encodeToString(payload) + "." + encoder().encodeToString(sign(payload));
+    }
+
+    /**
+     * 토큰이 없으면 처음 위치, 형식이나 서명이 맞지 않으면 InvalidScrollTokenException
+     */
+    public ScrollPosition decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            int dot = token.indexOf('.');
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                throw new InvalidScrollTokenException("잘못된 스크롤 토큰입니다.");
+            }
+
+            // username 에 구분자가 들어갈 수 있으므로 숫자인 id 를 앞에 둔다.
+            String raw = new String(payload, StandardCharsets.UTF_8);
+            int index = raw.indexOf(DELIMITER);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("username", raw.substring(index + 1));
+            keys.put("id", Long.valueOf(raw.substring(0, index)));
+            return ScrollPosition.forward(keys);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new InvalidScrollTokenException("잘못된 스크롤 토큰입니다.", e);
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Base64.Encoder encoder() {
+        return Base64.getUrlEncoder().withoutPadding();
+    }
+}
@@ -6,11 +6,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import java.time.LocalDateTime;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+@Getter
 @NoArgsConstructor(access = PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 @Entity
@@ -20,13 +23,32 @@ public class Item implements Persistable<String> {
 //    @GeneratedValue
     private String id;
 
+    private String name;
+    private int price;
+
     @CreatedDate
     private LocalDateTime createdDate;
 
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+
     public Item(String id) {
         this.id = id;
     }
 
+    public Item(String id, String name, int price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
+    /**
+     * JDBC 로 이미 있던 row 를 갱신한 경우 DB 의 생성일을 채운다. (이후 save 시 insert 가 아닌 merge)
+     */
+    public void markExisting(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
     @Override
     public String getId() {
         return id;
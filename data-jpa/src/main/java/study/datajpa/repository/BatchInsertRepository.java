@@ -0,0 +1,20 @@
+package study.datajpa.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 대량 저장 리포지토리 조각 (fragment)
+ * 리포지토리 인터페이스에서 상속하면 BatchInsertRepositoryImpl 이 구현체로 사용된다.
+ */
+public interface BatchInsertRepository<T> {
+
+    /**
+     * 청크 단위로 persist -> flush -> 저장한 엔티티만 detach
+     * flush 시점에 insert 가 JDBC batch 로 실행된다. (hibernate.jdbc.batch_size, order_inserts)
+     * saveAll 과 달리 merge 여부를 판단하지 않으므로 새 엔티티만 넘겨야 한다.
+     *
+     * @return 저장한 엔티티 수
+     */
+    @Transactional
+    <S extends T> int persistAll(Iterable<S> entities);
+}
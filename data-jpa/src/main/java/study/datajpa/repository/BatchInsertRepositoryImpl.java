@@ -0,0 +1,47 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * 대량 저장 리포지토리 조각 구현체
+ * 영속성 컨텍스트 전체를 clear 하지 않고 저장한 엔티티만 분리하므로, 호출 전에 조회한 엔티티는 계속 관리된다.
+ */
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+
+    private final EntityManager em;
+    private final int chunkSize;
+
+    public BatchInsertRepositoryImpl(EntityManager em, @Value("${datajpa.batch-insert.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public <S extends T> int persistAll(Iterable<S> entities) {
+        List<S> chunk = new ArrayList<>(chunkSize);
+        int count = 0;
+        for (S entity : entities) {
+            em.persist(entity);
+            chunk.add(entity);
+            count++;
+
+            if (chunk.size() == chunkSize) {
+                flushAndDetach(chunk);
+            }
+        }
+        flushAndDetach(chunk);
+        return count;
+    }
+
+    private void flushAndDetach(List<?> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        em.flush();
+        chunk.forEach(em::detach);
+        chunk.clear();
+    }
+}
@@ -0,0 +1,118 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 벌크성 수정 쿼리 + 영속성 컨텍스트 부분 동기화
+ * 벌크 연산은 영속성 컨텍스트를 거치지 않으므로, 이미 조회한 엔티티는 DB 와 값이 달라진다.
+ * clearAutomatically 처럼 영속성 컨텍스트 전체를 비우지 않고, 수정 조건에 해당하는 관리 중인 엔티티만 refresh/detach 한다.
+ *
+ * 1. flush - 변경 내용을 먼저 반영
+ * 2. 관리 중인 엔티티 id 중 수정 조건에 해당하는 id 조회 (수정 전 값으로 판단, 영속성 컨텍스트 크기만큼만 조회)
+ * 3. 벌크 update 실행
+ * 4. 해당 엔티티만 refresh 또는 detach
+ */
+@RequiredArgsConstructor
+@Component
+public class BulkUpdater {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final EntityManager em;
+
+    public enum Sync {
+
+        /**
+         * 다시 조회해서 값을 갱신 - 엔티티 참조를 계속 사용할 수 있다. (엔티티마다 select 1번)
+         */
+        REFRESH,
+
+        /**
+         * 영속성 컨텍스트에서 분리 - 다음 조회 시 DB 에서 다시 읽는다. (기존 참조는 준영속 상태)
+         */
+        EVICT
+    }
+
+    /**
+     * update {entity} {alias} set {set} where {where}
+     *
+     * @param alias  set, where 절에서 사용하는 엔티티 별칭 (예: "m")
+     * @param set    set 절 (예: "m.age = m.age + 1")
+     * @param where  where 절 (예: "m.age >= :age")
+     * @param params where, set 절의 파라미터
+     * @return 수정된 row 수
+     */
+    public int update(Class<?> entityClass, String alias, String set, String where, Map<String, ?> params, Sync sync) {
+        EntityType<?> entityType = em.getMetamodel().entity(entityClass);
+        String entityName = entityType.getName();
+
+        em.flush();
+        List<Object> affected = findAffected(entityClass, entityType, alias, where, params);
+
+        Query update = em.createQuery("update " + entityName + " " + alias + " set " + set + " where " + where);
+        params.forEach(update::setParameter);
+        int updated = update.executeUpdate();
+
+        for (Object entity : affected) {
+            if (sync == Sync.REFRESH) {
+                em.refresh(entity);
+            } else {
+                em.detach(entity);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * 관리 중인 entityClass 엔티티 중 where 조건에 해당하는 엔티티
+     */
+    private List<Object> findAffected(Class<?> entityClass, EntityType<?> entityType, String alias, String where,
+            Map<String, ?> params) {
+        PersistenceUnitUtil unitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, Object> managedById = new HashMap<>();
+        for (Object entity : em.unwrap(SessionImplementor.class).getPersistenceContextInternal()
+                .getEntitiesByKey().values()) {
+            if (entityClass.isInstance(entity)) {
+                managedById.put(unitUtil.getIdentifier(entity), entity);
+            }
+        }
+        if (managedById.isEmpty()) {
+            return List.of();
+        }
+
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        String jpql = "select " + alias + "." + idName + " from " + entityType.getName() + " " + alias
+                + " where " + alias + "." + idName + " in :managedIds and (" + where + ")";
+
+        List<Object> ids = new ArrayList<>(managedById.keySet());
+        Set<Object> affectedIds = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_SIZE) {
+            TypedQuery<Object> query = em.createQuery(jpql, Object.class)
+                    .setParameter("managedIds", ids.subList(i, Math.min(i + IN_CLAUSE_SIZE, ids.size())));
+            // set 절에만 쓰는 파라미터는 제외
+            params.forEach((name, value) -> {
+                if (query.getParameters().stream().anyMatch(parameter -> name.equals(parameter.getName()))) {
+                    query.setParameter(name, value);
+                }
+            });
+            affectedIds.addAll(query.getResultList());
+        }
+
+        return affectedIds.stream()
+                .map(managedById::get)
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.repository;
+
+/**
+ * Page 의 전체 데이터 수(totalElements)를 구하는 방법
+ */
+public enum CountStrategy {
+
+    /**
+     * 매번 count 쿼리를 실행한다. (정확)
+     */
+    EXACT,
+
+    /**
+     * 쿼리 모양 + 파라미터별로 count 결과를 TTL 동안 재사용한다. (TTL 동안 변경 내용이 반영되지 않을 수 있음)
+     */
+    CACHED,
+
+    /**
+     * 데이터베이스 통계의 테이블 row 수 추정치를 사용한다. (조건이 없는 조회만, 조건이 있으면 CACHED 와 동일)
+     */
+    ESTIMATED
+}
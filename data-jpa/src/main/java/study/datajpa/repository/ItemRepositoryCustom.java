@@ -0,0 +1,15 @@
+package study.datajpa.repository;
+
+import java.util.Collection;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Item;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * 대량 upsert - 없는 id 는 insert, 있는 id 는 name, price 만 update (createdDate 는 유지)
+     * save 처럼 한 건씩 select / merge 하지 않고, 청크마다 MERGE 문을 JDBC batch 로 실행한다.
+     */
+    @Transactional
+    ItemUpsertResult upsertAll(Collection<Item> items);
+}
@@ -0,0 +1,106 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import study.datajpa.entity.Item;
+
+/**
+ * Item 대량 upsert 구현체
+ * 1. 청크의 id 중 이미 있는 id 와 생성일 조회 (insert, update 수 집계 + 감사 필드 설정)
+ * 2. 새 Item 은 createdDate, 있던 Item 은 lastModifiedDate 를 AuditingHandler 로 설정 (JDBC 는 엔티티 리스너를 거치지 않음)
+ *    있던 Item 에는 DB 의 createdDate 를 채워서 upsert 이후 isNew() 가 false 가 되도록 한다.
+ * 3. MERGE 문을 JDBC batch 로 실행 - 있던 row 의 created_date 는 변경하지 않는다.
+ */
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final String EXISTING_SQL = "select id, created_date from item where id in (:ids)";
+
+    private static final String MERGE_SQL = "merge into item t"
+            + " using (values (?, ?, ?, cast(? as timestamp), cast(? as timestamp)))"
+            + " s (id, name, price, created_date, last_modified_date) on t.id = s.id"
+            + " when matched then update set t.name = s.name, t.price = s.price,"
+            + " t.last_modified_date = s.last_modified_date"
+            + " when not matched then insert (id, name, price, created_date, last_modified_date)"
+            + " values (s.id, s.name, s.price, s.created_date, s.last_modified_date)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AuditingHandler auditingHandler;
+    private final int chunkSize;
+
+    public ItemRepositoryCustomImpl(EntityManager em, JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate, AuditingHandler auditingHandler,
+            @Value("${datajpa.batch-insert.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.auditingHandler = auditingHandler;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ItemUpsertResult upsertAll(Collection<Item> items) {
+        // 같은 id 가 여러 번 있으면 마지막 값으로 저장
+        Map<String, Item> itemsById = new LinkedHashMap<>();
+        for (Item item : items) {
+            itemsById.put(item.getId(), item);
+        }
+        detachManaged(itemsById.keySet());
+
+        List<Item> distinct = new ArrayList<>(itemsById.values());
+        int inserted = 0;
+        int updated = 0;
+        for (int i = 0; i < distinct.size(); i += chunkSize) {
+            List<Item> chunk = distinct.subList(i, Math.min(i + chunkSize, distinct.size()));
+            Map<String, LocalDateTime> existingCreatedDates = new HashMap<>();
+            namedParameterJdbcTemplate.query(EXISTING_SQL, Map.of("ids", chunk.stream().map(Item::getId).toList()),
+                    (RowCallbackHandler) rs -> existingCreatedDates.put(rs.getString("id"),
+                            rs.getObject("created_date", LocalDateTime.class)));
+
+            List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+            for (Item item : chunk) {
+                if (existingCreatedDates.containsKey(item.getId())) {
+                    item.markExisting(existingCreatedDates.get(item.getId()));
+                    auditingHandler.markModified(item);
+                    updated++;
+                } else {
+                    auditingHandler.markCreated(item);
+                    inserted++;
+                }
+                batchArgs.add(new Object[]{item.getId(), item.getName(), item.getPrice(), item.getCreatedDate(),
+                        item.getLastModifiedDate()});
+            }
+            jdbcTemplate.batchUpdate(MERGE_SQL, batchArgs);
+        }
+        return new ItemUpsertResult(inserted, updated);
+    }
+
+    /**
+     * JDBC 로 직접 변경하므로 같은 id 의 관리 중인 Item 은 flush 후 영속성 컨텍스트에서 분리한다. (다음 조회 시 DB 값)
+     */
+    private void detachManaged(Set<String> ids) {
+        em.flush();
+        List<Item> managed = new ArrayList<>();
+        for (Object entity : em.unwrap(SessionImplementor.class).getPersistenceContextInternal()
+                .getEntitiesByKey().values()) {
+            if (entity instanceof Item item && ids.contains(item.getId())) {
+                managed.add(item);
+            }
+        }
+        managed.forEach(em::detach);
+    }
+}
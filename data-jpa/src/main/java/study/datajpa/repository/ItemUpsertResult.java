@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Item 대량 upsert 결과
+ */
+@Getter
+@AllArgsConstructor
+public class ItemUpsertResult {
+
+    private final int inserted;
+    private final int updated;
+
+    public int getTotal() {
+        return inserted + updated;
+    }
+}
@@ -2,6 +2,7 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -12,6 +13,7 @@ import study.datajpa.entity.Member;
 public class MemberJpaRepository {
 
     private final EntityManager em;
+    private final BulkUpdater bulkUpdater;
 
     public Member save(Member member) {
         em.persist(member);
@@ -76,10 +78,10 @@ public class MemberJpaRepository {
 
     /**
      * 벌크성 수정 쿼리
+     * 수정 조건에 해당하는 관리 중인 회원만 다시 조회한다. (영속성 컨텍스트 전체를 비우지 않음)
      */
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
-                .setParameter("age", age)
-                .executeUpdate();
+        return bulkUpdater.update(Member.class, "m", "m.age = m.age + 1", "m.age >= :age", Map.of("age", age),
+                BulkUpdater.Sync.REFRESH);
     }
 }
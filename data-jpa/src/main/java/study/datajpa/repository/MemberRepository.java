@@ -7,7 +7,11 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -20,7 +24,7 @@ import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom,
-        JpaSpecificationExecutor<Member> {
+        BatchInsertRepository<Member>, JpaSpecificationExecutor<Member> {
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -70,8 +74,27 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     List<Member> findListByAge(int age, Pageable pageable);
 
+    /**
+     * keyset 스크롤 (Window)
+     * (username, id) 순으로 정렬하고, 이전 Window 의 마지막 위치 다음부터 조회한다.
+     * count 쿼리와 offset 이 없어서 뒤쪽 페이지로 갈수록 느려지지 않는다. (무한 스크롤)
+     */
+    Window<Member> findFirst10ByOrderByUsernameAscIdAsc(ScrollPosition position);
+
+    /**
+     * keyset 스크롤 - 조회 크기 지정
+     * 파생 쿼리는 조회 크기를 메서드 이름(First10)으로만 지정할 수 있으므로 Fluent Query 를 사용한다.
+     */
+    default Window<Member> scrollByUsername(ScrollPosition position, int size) {
+        return findBy(Specification.where(null), query -> query
+                .sortBy(Sort.by("username", "id"))
+                .limit(size)
+                .scroll(position));
+    }
+
     /**
      * 벌크성 수정 쿼리
+     * clearAutomatically 는 영속성 컨텍스트 전체를 비운다. 해당 회원만 동기화하려면 bulkAgePlus(age, sync) 사용
      */
     @Modifying(clearAutomatically = true) // executeUpdate() 를 실행
     @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
@@ -1,6 +1,8 @@
 package study.datajpa.repository;
 
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import study.datajpa.entity.Member;
 
 /**
@@ -9,4 +11,16 @@ import study.datajpa.entity.Member;
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    /**
+     * 페이징 - count 쿼리 전략 지정 (CountStrategy)
+     */
+    Page<Member> findAll(Pageable pageable, CountStrategy countStrategy);
+
+    Page<Member> findByAge(int age, Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * 벌크성 수정 쿼리 - clearAutomatically 대신 수정 조건에 해당하는 관리 중인 회원만 refresh/detach
+     */
+    int bulkAgePlus(int age, BulkUpdater.Sync sync);
 }
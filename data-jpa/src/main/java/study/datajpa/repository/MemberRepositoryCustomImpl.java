@@ -1,8 +1,14 @@
 package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import study.datajpa.entity.Member;
 
 /**
@@ -12,10 +18,49 @@ import study.datajpa.entity.Member;
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
     private final EntityManager em;
+    private final PageCounter pageCounter;
+    private final BulkUpdater bulkUpdater;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    public Page<Member> findAll(Pageable pageable, CountStrategy countStrategy) {
+        List<Member> content = page(em.createQuery(
+                QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m"), Member.class), pageable);
+
+        // 마지막 페이지처럼 content 로 전체 수를 알 수 있으면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> pageCounter.countAll(countStrategy, "member",
+                () -> em.createQuery("select count(m) from Member m", Long.class).getSingleResult()));
+    }
+
+    @Override
+    public Page<Member> findByAge(int age, Pageable pageable, CountStrategy countStrategy) {
+        List<Member> content = page(em.createQuery(
+                        QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"),
+                        Member.class)
+                .setParameter("age", age), pageable);
+
+        String countQuery = "select count(m) from Member m where m.age = :age";
+        return PageableExecutionUtils.getPage(content, pageable, () -> pageCounter.count(countStrategy, countQuery,
+                List.of(age), () -> em.createQuery(countQuery, Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult()));
+    }
+
+    @Override
+    public int bulkAgePlus(int age, BulkUpdater.Sync sync) {
+        return bulkUpdater.update(Member.class, "m", "m.age = m.age + 1", "m.age >= :age", Map.of("age", age), sync);
+    }
+
+    private static List<Member> page(TypedQuery<Member> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
 }
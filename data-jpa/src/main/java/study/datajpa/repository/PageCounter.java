@@ -0,0 +1,113 @@
+package study.datajpa.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page count 쿼리 실행 전략
+ * 리포지토리의 Page 조회 메서드에서 CountStrategy 에 따라 count 쿼리를 실행하거나, 캐시/통계 값을 사용한다.
+ */
+@Slf4j
+@Component
+public class PageCounter {
+
+    /**
+     * H2 통계의 테이블 row 수 추정치 (PostgreSQL 이면 pg_class.reltuples, MySQL 이면 information_schema.tables.table_rows)
+     */
+    private static final String ESTIMATE_SQL =
+            "select row_count_estimate from information_schema.tables where upper(table_name) = upper(?)";
+
+    private static final int MAX_CACHED_COUNTS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+    private final Map<List<Object>, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    public PageCounter(JdbcTemplate jdbcTemplate, @Value("${datajpa.count.cache-ttl:30s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @param shape      count 쿼리 모양 (캐시 키)
+     * @param params     count 쿼리 파라미터 (캐시 키)
+     * @param exactCount 정확한 count 쿼리
+     */
+    public long count(CountStrategy strategy, String shape, List<?> params, LongSupplier exactCount) {
+        return switch (strategy) {
+            case EXACT -> exactCount.getAsLong();
+            case CACHED, ESTIMATED -> cached(shape, params, exactCount);
+        };
+    }
+
+    /**
+     * 조건이 없는 테이블 전체 count - ESTIMATED 이면 통계 값을 사용하고, 통계가 없으면 CACHED 로 조회한다.
+     */
+    public long countAll(CountStrategy strategy, String table, LongSupplier exactCount) {
+        if (strategy == CountStrategy.ESTIMATED) {
+            Long estimate = estimate(table);
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+        return count(strategy, "all:" + table, List.of(), exactCount);
+    }
+
+    public void evictAll() {
+        cachedCounts.clear();
+    }
+
+    private long cached(String shape, List<?> params, LongSupplier exactCount) {
+        List<Object> key = new ArrayList<>(params.size() + 1);
+        key.add(shape);
+        key.addAll(params);
+
+        long now = System.nanoTime();
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && now - cached.countedAt < ttlNanos) {
+            return cached.count;
+        }
+
+        long count = exactCount.getAsLong();
+        if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+            cachedCounts.values().removeIf(value -> now - value.countedAt >= ttlNanos);
+            if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+                cachedCounts.clear();
+            }
+        }
+        cachedCounts.put(key, new CachedCount(count, now));
+        return count;
+    }
+
+    private Long estimate(String table) {
+        // JPA 쿼리 예외는 트랜잭션을 rollback-only 로 만들기 때문에 JdbcTemplate 으로 조회한다.
+        try {
+            List<Long> result = jdbcTemplate.queryForList(ESTIMATE_SQL, Long.class, table);
+            return result.isEmpty() ? null : result.get(0);
+        } catch (DataAccessException e) {
+            // 통계를 지원하지 않는 데이터베이스
+            log.debug("row 수 추정치를 조회할 수 없습니다. table={}", table, e);
+            return null;
+        }
+    }
+
+    private static class CachedCount {
+
+        private final long count;
+        private final long countedAt;
+
+        CachedCount(long count, long countedAt) {
+            this.count = count;
+            this.countedAt = countedAt;
+        }
+    }
+}
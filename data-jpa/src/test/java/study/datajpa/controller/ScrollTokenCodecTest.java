@@ -0,0 +1,52 @@
+package study.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+class ScrollTokenCodecTest {
+
+    ScrollTokenCodec codec = new ScrollTokenCodec("test-secret");
+
+    @Test
+    @DisplayName("토큰으로 만든 keyset 위치를 그대로 복원한다.")
+    void encode_decode() {
+        // given
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("username", "member|1");
+        keys.put("id", 42L);
+
+        // when
+        String token = codec.encode(ScrollPosition.forward(keys));
+        ScrollPosition position = codec.decode(token);
+
+        // then
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) position).getKeys())
+                .containsEntry("username", "member|1")
+                .containsEntry("id", 42L);
+        assertThat(codec.decode(null).isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("조작한 토큰, 다른 키로 서명한 토큰은 예외가 발생한다.")
+    void tampered_token() {
+        // given
+        String token = codec.encode(ScrollPosition.forward(Map.of("username", "member1", "id", 1L)));
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString("999|member9".getBytes())
+                + token.substring(token.indexOf('.'));
+
+        // then
+        assertThatThrownBy(() -> codec.decode(forged)).isInstanceOf(InvalidScrollTokenException.class);
+        assertThatThrownBy(() -> new ScrollTokenCodec("other-secret").decode(token))
+                .isInstanceOf(InvalidScrollTokenException.class);
+        assertThatThrownBy(() -> codec.decode("not-a-token")).isInstanceOf(InvalidScrollTokenException.class);
+    }
+}
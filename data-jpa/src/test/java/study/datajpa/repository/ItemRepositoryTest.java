@@ -1,5 +1,10 @@
 package study.datajpa.repository;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -22,4 +27,43 @@ class ItemRepositoryTest {
         // - *Persistable 인터페이스를 구현해서 판단 로직 변경 가능
         itemRepository.save(item);
     }
+
+    @Test
+    @DisplayName("대량 upsert - 없는 id 는 insert, 있는 id 는 update 하고 createdDate 는 유지")
+    void upsert_all() {
+        // given
+        String sku = UUID.randomUUID() + "-";
+        ItemUpsertResult first = itemRepository.upsertAll(List.of(
+                new Item(sku + 1, "itemA", 1000),
+                new Item(sku + 2, "itemB", 2000)));
+        Item before = itemRepository.findById(sku + 1).get();
+
+        // when
+        Item reimported = new Item(sku + 1, "itemA2", 1100);
+        ItemUpsertResult second = itemRepository.upsertAll(List.of(
+                reimported,
+                new Item(sku + 2, "itemB2", 2200),
+                new Item(sku + 3, "itemC", 3000),
+                new Item(sku + 3, "itemC2", 3300))); // 같은 id 는 마지막 값
+
+        // then
+        assertThat(first.getInserted()).isEqualTo(2);
+        assertThat(first.getUpdated()).isEqualTo(0);
+        assertThat(second.getInserted()).isEqualTo(1);
+        assertThat(second.getUpdated()).isEqualTo(2);
+
+        Item updated = itemRepository.findById(sku + 1).get();
+        assertThat(updated.getName()).isEqualTo("itemA2");
+        assertThat(updated.getPrice()).isEqualTo(1100);
+        assertThat(updated.getCreatedDate()).isEqualTo(before.getCreatedDate());
+        assertThat(updated.getLastModifiedDate()).isAfterOrEqualTo(before.getLastModifiedDate());
+        assertThat(updated.isNew()).isFalse();
+        assertThat(reimported.getCreatedDate()).as("넘긴 객체에도 DB 의 생성일").isEqualTo(before.getCreatedDate());
+        assertThat(reimported.isNew()).isFalse();
+        itemRepository.save(reimported); // insert 가 아닌 merge
+
+        Item inserted = itemRepository.findById(sku + 3).get();
+        assertThat(inserted.getName()).isEqualTo("itemC2");
+        assertThat(inserted.getCreatedDate()).isNotNull();
+    }
 }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -15,8 +16,10 @@ import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
@@ -429,4 +432,114 @@ class MemberRepositoryTest {
             System.out.println("memberProjection = " + memberProjection.getTeamName());
         }
     }
+
+    @Test
+    @DisplayName("keyset 스크롤 테스트 - (username, id) 순으로 중복 없이 끝까지 조회")
+    void scroll_keyset() {
+        // given
+        memberRepository.save(new Member("scroll", 10));
+        memberRepository.save(new Member("scroll", 20)); // 같은 username 은 id 순
+        memberRepository.save(new Member("scroll1", 30));
+
+        List<Member> expected = memberRepository.findAll(Sort.by("username", "id"));
+
+        // when
+        List<Member> result = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Member> window;
+        do {
+            window = memberRepository.scrollByUsername(position, 7);
+            result.addAll(window.getContent());
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        Window<Member> first = memberRepository.findFirst10ByOrderByUsernameAscIdAsc(ScrollPosition.keyset());
+
+        // then
+        assertThat(result).extracting(Member::getId)
+                .containsExactlyElementsOf(expected.stream().map(Member::getId).toList());
+        assertThat(first.getContent()).hasSize(Math.min(10, expected.size()));
+        assertThat(first.getContent()).extracting(Member::getId)
+                .containsExactlyElementsOf(expected.stream().limit(10).map(Member::getId).toList());
+    }
+
+    @Test
+    @DisplayName("count 전략 테스트 - CACHED 는 같은 조건의 count 를 재사용, ESTIMATED 는 통계 값 사용")
+    void paging_count_strategy() {
+        // given
+        int age = 1000;
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("count" + i, age));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("username"));
+
+        // when
+        Page<Member> cached = memberRepository.findByAge(age, pageRequest, CountStrategy.CACHED);
+        memberRepository.save(new Member("count5", age));
+        Page<Member> cachedAgain = memberRepository.findByAge(age, pageRequest, CountStrategy.CACHED);
+        Page<Member> exact = memberRepository.findByAge(age, pageRequest, CountStrategy.EXACT);
+        Page<Member> estimated = memberRepository.findAll(pageRequest, CountStrategy.ESTIMATED);
+
+        // then
+        assertThat(cached.getContent()).extracting(Member::getUsername).containsExactly("count0", "count1", "count2");
+        assertThat(cached.getTotalElements()).isEqualTo(5);
+        assertThat(cachedAgain.getTotalElements()).as("TTL 동안은 캐시된 count").isEqualTo(5);
+        assertThat(exact.getTotalElements()).isEqualTo(6);
+        assertThat(estimated.getContent()).hasSize(3);
+        assertThat(estimated.getTotalElements()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("벌크성 수정 쿼리 - 수정 조건에 해당하는 관리 중인 엔티티만 refresh/detach")
+    void bulkUpdate_sync() {
+        // given
+        Member young = memberRepository.save(new Member("bulk1", 2000));
+        Member old = memberRepository.save(new Member("bulk2", 3000));
+        Member other = memberRepository.save(new Member("bulk3", 4000));
+        em.flush();
+
+        // when
+        int refreshed = memberRepository.bulkAgePlus(3000, BulkUpdater.Sync.REFRESH);
+
+        // then
+        assertThat(refreshed).isGreaterThanOrEqualTo(2);
+        assertThat(young.getAge()).as("수정 조건에 해당하지 않음").isEqualTo(2000);
+        assertThat(old.getAge()).as("같은 인스턴스가 DB 값으로 갱신").isEqualTo(3001);
+        assertThat(other.getAge()).isEqualTo(4001);
+        assertThat(em.contains(young)).isTrue();
+
+        // when
+        memberRepository.bulkAgePlus(4001, BulkUpdater.Sync.EVICT);
+
+        // then
+        assertThat(em.contains(young)).as("영속성 컨텍스트 전체를 비우지 않음").isTrue();
+        assertThat(em.contains(old)).isTrue();
+        assertThat(em.contains(other)).isFalse();
+        assertThat(memberRepository.findById(other.getId()).get().getAge()).isEqualTo(4002);
+    }
+
+    @Test
+    @DisplayName("대량 저장 - 청크마다 flush 하고 저장한 엔티티만 영속성 컨텍스트에서 분리")
+    void persistAll() {
+        // given
+        Member managed = memberRepository.save(new Member("managed", 5000));
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            members.add(new Member("batch" + i, 5001));
+        }
+
+        // when
+        int persisted = memberRepository.persistAll(members);
+
+        // then
+        assertThat(persisted).isEqualTo(2500);
+        assertThat(members).allMatch(member -> member.getId() != null);
+        assertThat(em.contains(members.get(0))).isFalse();
+        assertThat(em.contains(managed)).as("호출 전에 관리하던 엔티티는 그대로").isTrue();
+        assertThat(memberRepository.findByAge(5001, PageRequest.of(0, 1), CountStrategy.EXACT).getTotalElements())
+                .isEqualTo(2500);
+    }
 }
@@ -0,0 +1,47 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PageCounterTest {
+
+    @Test
+    @DisplayName("CACHED 는 쿼리 모양과 파라미터가 같으면 TTL 동안 count 쿼리를 다시 실행하지 않는다.")
+    void cached_count() {
+        // given
+        PageCounter pageCounter = new PageCounter(null, Duration.ofMinutes(1));
+        AtomicLong queries = new AtomicLong();
+
+        // when
+        long first = pageCounter.count(CountStrategy.CACHED, "shape", List.of(10), queries::incrementAndGet);
+        long second = pageCounter.count(CountStrategy.CACHED, "shape", List.of(10), queries::incrementAndGet);
+        long otherParam = pageCounter.count(CountStrategy.CACHED, "shape", List.of(20), queries::incrementAndGet);
+        long exact = pageCounter.count(CountStrategy.EXACT, "shape", List.of(10), queries::incrementAndGet);
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(otherParam).isEqualTo(2);
+        assertThat(exact).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 count 쿼리를 다시 실행한다.")
+    void cached_count_expired() {
+        // given
+        PageCounter pageCounter = new PageCounter(null, Duration.ZERO);
+        AtomicLong queries = new AtomicLong();
+
+        // when
+        pageCounter.count(CountStrategy.CACHED, "shape", List.of(), queries::incrementAndGet);
+        long count = pageCounter.count(CountStrategy.CACHED, "shape", List.of(), queries::incrementAndGet);
+
+        // then
+        assertThat(count).isEqualTo(2);
+    }
+}
@@ -0,0 +1,135 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderSummary;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.ItemRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 벤치마크용 애플리케이션 실행 및 데이터 준비
+ * 메모리 H2 를 사용하고, SQL 로그는 끈다.
+ */
+public class BenchmarkSupport {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private BenchmarkSupport() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * 임의 포트로 톰캣까지 띄운다. (HTTP 부하 벤치마크용)
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        return start(WebApplicationType.SERVLET, properties);
+    }
+
+    /**
+     * startWeb 으로 띄운 톰캣 포트
+     */
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /**
+     * 조건부 요청 헤더(If-None-Match)가 없는 요청 - 컨트롤러를 직접 호출할 때 항상 조회하도록 사용
+     */
+    public static WebRequest unconditionalRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        return new SpringApplicationBuilder(JpashopApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.p6spy=warn",
+                        "decorator.datasource.p6spy.enable-logging=false")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * 회원, 상품, 주문을 생성한다.
+     * 주문마다 linesPerOrder 개의 주문상품을 가지며, 회원과 상품은 순서대로 돌아가며 사용한다.
+     */
+    public static void seed(ConfigurableApplicationContext context, int memberCount, int itemCount, int orderCount,
+            int linesPerOrder) {
+        EntityManager em = context.getBean(EntityManager.class); // 트랜잭션에 묶이는 공유 EntityManager
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        tx.executeWithoutResult(status -> {
+            List<Long> memberIds = new ArrayList<>();
+            for (int i = 0; i < memberCount; i++) {
+                Member member = new Member();
+                member.setName("bench-member" + i);
+                member.setAddress(new Address("city" + i, "street" + i, "zipcode" + i));
+                em.persist(member);
+                memberIds.add(member.getId());
+                flushAndClear(em, i);
+            }
+
+            List<Long> itemIds = new ArrayList<>();
+            for (int i = 0; i < itemCount; i++) {
+                Book book = new Book();
+                book.setName("bench-book" + i);
+                book.setPrice(1000 + i);
+                book.setStockQuantity(Integer.MAX_VALUE / 2);
+                em.persist(book);
+                itemIds.add(book.getId());
+                flushAndClear(em, i);
+            }
+
+            for (int i = 0; i < orderCount; i++) {
+                Member member = em.find(Member.class, memberIds.get(i % memberCount));
+
+                OrderItem[] orderItems = new OrderItem[linesPerOrder];
+                for (int line = 0; line < linesPerOrder; line++) {
+                    Book book = em.find(Book.class, itemIds.get((i + line) % itemCount));
+                    itemRepository.removeStock(book, 1);
+                    orderItems[line] = OrderItem.createReservedOrderItem(book, book.getPrice(), 1);
+                }
+
+                Delivery delivery = new Delivery();
+                delivery.setAddress(member.getAddress());
+
+                Order order = Order.createOrder(member, delivery, orderItems);
+                em.persist(order);
+                em.persist(OrderSummary.createOrderSummary(order));
+                flushAndClear(em, i);
+            }
+        });
+    }
+
+    private static void flushAndClear(EntityManager em, int index) {
+        if ((index + 1) % FLUSH_SIZE == 0) {
+            em.flush();
+            em.clear();
+        }
+    }
+}
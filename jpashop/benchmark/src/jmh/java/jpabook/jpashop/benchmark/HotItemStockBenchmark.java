@@ -0,0 +1,133 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 인기 상품 하나에 동시 주문이 몰리는 경우 (플래시 세일)
+ * - atomicUpdate: OrderService.order (조건부 update 로 재고 차감)
+ * - readModifyWrite: 이전 방식 (엔티티를 읽고 메모리에서 차감 후 dirty checking)
+ * 성공한 주문 수는 보조 카운터(orders)로 보고한다.
+ * 반복(iteration)이 끝날 때 성공한 주문 수와 실제 차감된 재고를 비교해서, atomicUpdate 에 유실된 차감(lostUpdates)이 있으면 실패시킨다.
+ * readModifyWrite 는 차감 유실이 예상된 결과(비교 대상)이므로 주문 수보다 많이 차감되지 않았는지만 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class HotItemStockBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE / 2;
+
+    ConfigurableApplicationContext context;
+    OrderService orderService;
+    OrderRepository orderRepository;
+    MemberRepository memberRepository;
+    ItemRepository itemRepository;
+    TransactionTemplate tx;
+
+    Long memberId;
+    Long itemId;
+    int stockBefore;
+    final AtomicLong ordered = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seed(context, 1, 1, 0, 0);
+
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        tx.executeWithoutResult(status -> {
+            memberId = memberRepository.findAll().get(0).getId();
+            itemId = itemRepository.findAll().get(0).getId();
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStock() {
+        tx.executeWithoutResult(status -> itemRepository.findOne(itemId).setStockQuantity(INITIAL_STOCK));
+        stockBefore = INITIAL_STOCK;
+        ordered.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyStock(BenchmarkParams params) {
+        Integer stockAfter = tx.execute(status -> itemRepository.findOne(itemId).getStockQuantity());
+        long decremented = stockBefore - stockAfter;
+        long lostUpdates = ordered.get() - decremented;
+
+        boolean atomic = params.getBenchmark().endsWith(".atomicUpdate");
+        if (lostUpdates < 0 || (atomic && lostUpdates != 0)) {
+            throw new IllegalStateException(String.format("재고 차감 수가 주문 수와 다릅니다. ordered=%d, decremented=%d, lostUpdates=%d",
+                    ordered.get(), decremented, lostUpdates));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void atomicUpdate(OrderCounter counter) {
+        orderService.order(memberId, itemId, 1);
+        ordered.incrementAndGet();
+        counter.orders++;
+    }
+
+    @Benchmark
+    public void readModifyWrite(OrderCounter counter) {
+        tx.executeWithoutResult(status -> {
+            Member member = memberRepository.findOne(memberId);
+            Item item = itemRepository.findOne(itemId);
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+
+            item.removeStock(1); // 메모리에서 재고 차감 (dirty checking 으로 update)
+            OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), 1);
+            orderRepository.save(Order.createOrder(member, delivery, orderItem));
+        });
+        ordered.incrementAndGet();
+        counter.orders++;
+    }
+
+    /**
+     * 스레드별 성공한 주문 수
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OrderCounter {
+
+        public long orders;
+    }
+}
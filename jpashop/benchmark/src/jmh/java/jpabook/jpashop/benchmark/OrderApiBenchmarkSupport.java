@@ -0,0 +1,75 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 주문 API 전략 벤치마크 공통 설정
+ * - 처리량(Throughput)과 지연시간 분포(SampleTime - p50, p90, p99 ...)를 함께 측정한다.
+ * - 할당량은 gc 프로파일러(build.gradle)로, SQL 문 수는 SqlStatementCounter 로 출력한다.
+ * - 컨트롤러 메서드를 읽기 전용 트랜잭션 안에서 호출한다. (OSIV 와 동일하게 지연 로딩 가능)
+ * - 데이터 양은 -PmemberCount=... -PitemCount=... -PorderCount=... -PlinesPerOrder=... 로 변경할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public abstract class OrderApiBenchmarkSupport {
+
+    @Param({"100"})
+    int memberCount;
+
+    @Param({"100"})
+    int itemCount;
+
+    @Param({"1000"})
+    int orderCount;
+
+    @Param({"2"})
+    int linesPerOrder;
+
+    protected ConfigurableApplicationContext context;
+
+    private TransactionTemplate readOnlyTx;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        BenchmarkSupport.seed(context, memberCount, itemCount, orderCount, linesPerOrder);
+
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        init();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    protected abstract void init();
+
+    protected Object execute(SqlStatementCounter counter, Supplier<?> strategy) {
+        long before = statistics.getPrepareStatementCount();
+        Object result = readOnlyTx.execute(status -> strategy.get());
+        counter.record(statistics.getPrepareStatementCount() - before);
+        return result;
+    }
+}
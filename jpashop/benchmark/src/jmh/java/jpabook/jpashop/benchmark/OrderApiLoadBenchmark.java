@@ -0,0 +1,81 @@
+package jpabook.jpashop.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * /api/v5/orders HTTP 부하 - 톰캣 스레드 풀(플랫폼 스레드) vs 가상 스레드
+ * 클라이언트 200 스레드가 동시에 요청한다. 처리량은 Throughput, p99 는 SampleTime 결과로 비교한다.
+ * virtualThreads=true 는 JDK 21 이상에서 실행해야 하고, 종료 시 pinning 리포트가 로그로 출력된다.
+ * 요청마다 DB 커넥션을 사용하므로 가상 스레드에서도 동시 처리량은 커넥션 풀 크기(hikariPoolSize)에 묶인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class OrderApiLoadBenchmark {
+
+    @Param({"false", "true"})
+    boolean virtualThreads;
+
+    @Param("50")
+    int tomcatMaxThreads;
+
+    @Param("10")
+    int hikariPoolSize;
+
+    @Param("100")
+    int orderCount;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startWeb(
+                "jpashop.virtual-threads.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatMaxThreads,
+                "server.tomcat.accept-count=1000",
+                "spring.datasource.hikari.maximum-pool-size=" + hikariPoolSize);
+        BenchmarkSupport.seed(context, 100, 100, orderCount, 2);
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + BenchmarkSupport.port(context) + "/api/v5/orders"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ordersV5() throws Exception {
+        HttpResponse<Void> response = client.send(request, BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("/api/v5/orders 응답 실패: " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
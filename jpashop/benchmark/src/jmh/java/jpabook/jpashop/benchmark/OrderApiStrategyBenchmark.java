@@ -0,0 +1,69 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import jpabook.jpashop.api.OrderApiController;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * xToMany 조회 전략 비교 (OrderApiController V1 ~ V6)
+ * V1, V2 는 findAllByCriteria 의 최대 1000 건 제한을 그대로 따른다.
+ */
+public class OrderApiStrategyBenchmark extends OrderApiBenchmarkSupport {
+
+    private static final int PAGE_SIZE = 100;
+
+    OrderApiController controller;
+
+    @Override
+    protected void init() {
+        controller = context.getBean(OrderApiController.class);
+    }
+
+    @Benchmark
+    public Object v1_entity(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV1());
+    }
+
+    @Benchmark
+    public Object v2_dto(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV2());
+    }
+
+    @Benchmark
+    public Object v3_fetchJoin(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV3());
+    }
+
+    /**
+     * V3.1 - 전체 주문을 PAGE_SIZE 단위 offset 페이징으로 끝까지 조회
+     */
+    @Benchmark
+    public Object v3_1_batchFetchPaging(SqlStatementCounter counter) {
+        return execute(counter, () -> {
+            List<Object> pages = new ArrayList<>();
+            for (int offset = 0; ; offset += PAGE_SIZE) {
+                List<?> page = controller.ordersV3_page(offset, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    return pages;
+                }
+                pages.add(page);
+            }
+        });
+    }
+
+    @Benchmark
+    public Object v4_dtoQuery(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV4());
+    }
+
+    @Benchmark
+    public Object v5_dtoQueryInOptimization(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV5(BenchmarkSupport.unconditionalRequest()));
+    }
+
+    @Benchmark
+    public Object v6_flatQuery(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV6());
+    }
+}
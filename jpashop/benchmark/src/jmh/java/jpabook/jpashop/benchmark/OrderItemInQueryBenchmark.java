@@ -0,0 +1,64 @@
+package jpabook.jpashop.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jpabook.jpashop.repository.OrderQueryDto;
+import jpabook.jpashop.repository.OrderQueryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * OrderQueryRepository 의 orderItems in 쿼리 분할 비교
+ * partitionSize 가 주문 수보다 크면 기존처럼 in 쿼리 1번으로 조회한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderItemInQueryBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    int orderCount;
+
+    @Param({"100", "1000", "100000"})
+    int partitionSize;
+
+    ConfigurableApplicationContext context;
+    OrderQueryRepository orderQueryRepository;
+    TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seed(context, 100, 100, orderCount, 2);
+
+        orderQueryRepository = context.getBean(OrderQueryRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderQueryDto> sequential() {
+        return readOnlyTx.execute(status -> orderQueryRepository.findAllByDto_partition(partitionSize, false));
+    }
+
+    @Benchmark
+    public List<OrderQueryDto> parallel() {
+        return readOnlyTx.execute(status -> orderQueryRepository.findAllByDto_partition(partitionSize, true));
+    }
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * xToOne 조회 전략 비교 (OrderSimpleApiController V1 ~ V5)
+ * V1 은 엔티티를 그대로 반환하므로 지연 로딩이 일어나지 않는 조회 비용만 측정된다.
+ */
+public class OrderSimpleApiStrategyBenchmark extends OrderApiBenchmarkSupport {
+
+    OrderSimpleApiController controller;
+
+    @Override
+    protected void init() {
+        controller = context.getBean(OrderSimpleApiController.class);
+    }
+
+    @Benchmark
+    public Object v1_entity(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV1());
+    }
+
+    @Benchmark
+    public Object v2_dto(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV2());
+    }
+
+    @Benchmark
+    public Object v3_fetchJoin(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV3());
+    }
+
+    @Benchmark
+    public Object v4_dtoQuery(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV4(BenchmarkSupport.unconditionalRequest()));
+    }
+
+    @Benchmark
+    public Object v5_summaryTable(SqlStatementCounter counter) {
+        return execute(counter, () -> controller.ordersV5(0, orderCount)); // V4 와 같은 건수
+    }
+}
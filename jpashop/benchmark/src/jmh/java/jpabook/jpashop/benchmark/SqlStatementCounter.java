@@ -0,0 +1,20 @@
+package jpabook.jpashop.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 호출 1번에 실행된 SQL 문 수를 결과에 함께 출력한다.
+ * Hibernate Statistics 의 prepareStatementCount 차이로 계산한다.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SqlStatementCounter {
+
+    public long sqlStatements;
+
+    void record(long statements) {
+        sqlStatements = statements; // 누적하지 않고 마지막 호출 값을 기록 (전략별로 호출마다 일정함)
+    }
+}
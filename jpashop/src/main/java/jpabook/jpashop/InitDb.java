@@ -7,7 +7,10 @@ import jpabook.jpashop.domain.Delivery;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +33,7 @@ public class InitDb {
     static class InitService {
 
         private final EntityManager em;
+        private final ItemRepository itemRepository;
 
         public void dbInit1() {
             Member member = createMember("userA", "서울", "1", "1111");
@@ -41,12 +45,13 @@ public class InitDb {
             Book book2 = createBook("JPA2 BOOK", 20000, 100);
             em.persist(book2);
 
-            OrderItem orderItem1 = OrderItem.createOrderItem(book1, 10000, 1);
-            OrderItem orderItem2 = OrderItem.createOrderItem(book2, 20000, 2);
+            OrderItem orderItem1 = createOrderItem(book1, 10000, 1);
+            OrderItem orderItem2 = createOrderItem(book2, 20000, 2);
 
             Delivery delivery = createDelivery(member);
             Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
             em.persist(order);
+            em.persist(OrderSummary.createOrderSummary(order));
         }
 
         public void dbInit2() {
@@ -59,12 +64,18 @@ public class InitDb {
             Book book2 = createBook("SPRING2 BOOK", 40000, 300);
             em.persist(book2);
 
-            OrderItem orderItem1 = OrderItem.createOrderItem(book1, 20000, 3);
-            OrderItem orderItem2 = OrderItem.createOrderItem(book2, 40000, 4);
+            OrderItem orderItem1 = createOrderItem(book1, 20000, 3);
+            OrderItem orderItem2 = createOrderItem(book2, 40000, 4);
 
             Delivery delivery = createDelivery(member);
             Order order = Order.createOrder(member, delivery, orderItem1, orderItem2);
             em.persist(order);
+            em.persist(OrderSummary.createOrderSummary(order));
+        }
+
+        private OrderItem createOrderItem(Item item, int orderPrice, int count) {
+            itemRepository.removeStock(item, count);
+            return OrderItem.createReservedOrderItem(item, orderPrice, count);
         }
 
         private Member createMember(String name, String city, String street, String zipcode) {
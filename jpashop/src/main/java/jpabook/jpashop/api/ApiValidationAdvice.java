@@ -0,0 +1,38 @@
+package jpabook.jpashop.api;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * API 요청 파라미터 검증 실패 (@Validated 컨트롤러의 @RequestParam 제약 조건) -> 400
+ * 처리하지 않으면 ConstraintViolationException 이 500 으로 응답된다.
+ */
+@RestControllerAdvice(basePackages = "jpabook.jpashop.api")
+public class ApiValidationAdvice {
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail constraintViolation(ConstraintViolationException e) {
+        String detail = e.getConstraintViolations().stream()
+                .map(ApiValidationAdvice::describe)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, detail);
+    }
+
+    /**
+     * "searchV1.limit" 처럼 메서드 이름이 포함된 경로 대신 파라미터 이름만 사용한다.
+     */
+    private static String describe(ConstraintViolation<?> violation) {
+        String name = null;
+        for (Path.Node node : violation.getPropertyPath()) {
+            name = node.getName();
+        }
+        return name + ": " + violation.getMessage();
+    }
+}
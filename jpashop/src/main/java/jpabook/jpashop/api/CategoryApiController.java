@@ -0,0 +1,119 @@
+package jpabook.jpashop.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.CategoryNode;
+import jpabook.jpashop.service.CategoryService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    /**
+     * 카테고리 전체 트리 (메뉴) - 캐시에서 조회
+     */
+    @GetMapping("/api/v1/categories")
+    public Result<List<CategoryNode>> categoriesV1() {
+        return new Result<>(categoryService.findTree());
+    }
+
+    /**
+     * 하위 트리 전체와 카테고리별 상품 - 쿼리 한 번
+     */
+    @GetMapping("/api/v1/categories/{id}/subtree")
+    public Result<List<CategoryDto>> subtreeV1(@PathVariable Long id) {
+        List<CategoryDto> categories = categoryService.findSubtree(id).stream()
+                .map(CategoryDto::new)
+                .toList();
+
+        return new Result<>(categories);
+    }
+
+    /**
+     * 하위 트리 전체에 속한 상품 - 쿼리 한 번
+     */
+    @GetMapping("/api/v1/categories/{id}/items")
+    public Result<List<CategoryItemDto>> itemsV1(@PathVariable Long id) {
+        List<CategoryItemDto> items = categoryService.findItems(id).stream()
+                .map(CategoryItemDto::new)
+                .toList();
+
+        return new Result<>(items);
+    }
+
+    @PostMapping("/api/v1/categories")
+    public CreateCategoryResponse saveCategoryV1(@RequestBody @Valid CreateCategoryRequest request) {
+        Long id = categoryService.saveCategory(request.getName(), request.getParentId());
+        return new CreateCategoryResponse(id);
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+
+        @NotEmpty
+        private String name;
+
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+
+        private Long id;
+    }
+
+    @Data
+    static class CategoryDto {
+
+        private Long id;
+        private String name;
+        private int depth;
+        private String path;
+        private List<CategoryItemDto> items;
+
+        public CategoryDto(Category category) {
+            id = category.getId();
+            name = category.getName();
+            depth = category.getDepth();
+            path = category.getPath();
+            items = category.getItems().stream()
+                    .map(CategoryItemDto::new)
+                    .toList();
+        }
+    }
+
+    @Data
+    static class CategoryItemDto {
+
+        private Long itemId;
+        private String name;
+        private int price;
+
+        public CategoryItemDto(Item item) {
+            itemId = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+
+        private T data;
+    }
+}
@@ -0,0 +1,65 @@
+package jpabook.jpashop.api;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import java.util.List;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.ItemService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RequiredArgsConstructor
+@RestController
+public class ItemApiController {
+
+    private final ItemService itemService;
+
+    /**
+     * 상품 검색 - 상품 이름, 도서 저자, ISBN 부분 일치 (랭킹 순)
+     */
+    @GetMapping("/api/v1/items/search")
+    public Result<List<ItemDto>> searchV1(@RequestParam String q,
+            @RequestParam(defaultValue = "20") @Positive @Max(100) int limit) {
+        List<ItemDto> items = itemService.search(q, limit).stream()
+                .map(ItemDto::new)
+                .toList();
+
+        return new Result<>(items);
+    }
+
+    @Data
+    static class ItemDto {
+
+        private Long itemId;
+        private String name;
+        private int price;
+        private int stockQuantity;
+        private String author;
+        private String isbn;
+
+        public ItemDto(Item item) {
+            itemId = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+            stockQuantity = item.getStockQuantity();
+            if (item instanceof Book book) {
+                author = book.getAuthor();
+                isbn = book.getIsbn();
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+
+        private T data;
+    }
+}
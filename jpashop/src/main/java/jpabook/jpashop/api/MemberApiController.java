@@ -2,17 +2,25 @@ package jpabook.jpashop.api;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.DuplicateMemberException;
+import jpabook.jpashop.service.MemberImportResult;
+import jpabook.jpashop.service.MemberImportService;
 import jpabook.jpashop.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RequiredArgsConstructor
@@ -20,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final MemberImportService memberImportService;
 
     /**
      * V1
@@ -68,6 +77,32 @@ public class MemberApiController {
         return new CreateMemberResponse(id);
     }
 
+    /**
+     * 대량 회원 가입
+     * 이름 중복은 in 쿼리 한 번으로 확인하고, 중복이 있으면 아무도 가입시키지 않고 중복된 이름을 반환한다. (409)
+     */
+    @PostMapping("/api/v2/members/bulk")
+    public CreateMembersResponse saveMembersV2(@RequestBody @Valid CreateMembersRequest request) {
+        List<Member> members = request.getMembers().stream()
+                .map(memberRequest -> {
+                    Member member = new Member();
+                    member.setName(memberRequest.getName());
+                    return member;
+                })
+                .toList();
+
+        return new CreateMembersResponse(memberService.joinAll(members));
+    }
+
+    /**
+     * 회원 CSV import (name,city,street,zipcode)
+     * 요청 본문을 읽으면서 바로 저장한다. (파일 전체를 메모리나 임시 파일에 올리지 않음)
+     */
+    @PostMapping(value = "/api/v2/members/import", consumes = "text/csv")
+    public MemberImportResult importMembersV2(InputStream body) throws IOException {
+        return memberImportService.importCsv(body);
+    }
+
     @PutMapping("/api/v2/members/{id}")
     public UpdateMemberResponse updateMemberV2(@PathVariable Long id, @RequestBody @Valid UpdateMemberRequest request) {
         memberService.update(id, request.getName()); // 커맨드와 쿼리를 분리한다.
@@ -75,6 +110,12 @@ public class MemberApiController {
         return new UpdateMemberResponse(findMember.getId(), findMember.getName());
     }
 
+    @ExceptionHandler(DuplicateMemberException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public DuplicateMemberResponse duplicateMember(DuplicateMemberException e) {
+        return new DuplicateMemberResponse(e.getMessage(), e.getNames());
+    }
+
     @Data
     @AllArgsConstructor
     static class Result<T> {
@@ -116,4 +157,27 @@ public class MemberApiController {
 
         private Long id;
     }
+
+    @Data
+    static class CreateMembersRequest {
+
+        @NotEmpty
+        @Valid
+        private List<CreateMemberRequest> members;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateMembersResponse {
+
+        private List<Long> ids;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class DuplicateMemberResponse {
+
+        private String message;
+        private List<String> duplicateNames;
+    }
 }
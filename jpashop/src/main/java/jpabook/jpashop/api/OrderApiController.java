@@ -1,37 +1,63 @@
 package jpabook.jpashop.api;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toList;
-
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.OrderCursor;
 import jpabook.jpashop.repository.OrderFlatDto;
-import jpabook.jpashop.repository.OrderItemQueryDto;
+import jpabook.jpashop.repository.OrderKeysetPage;
 import jpabook.jpashop.repository.OrderQueryDto;
 import jpabook.jpashop.repository.OrderQueryRepository;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.service.AggregateVersions;
+import jpabook.jpashop.service.AggregateVersions.Aggregate;
+import jpabook.jpashop.service.BulkOrderResult;
+import jpabook.jpashop.service.OrderCommand;
+import jpabook.jpashop.service.OrderExportService;
+import jpabook.jpashop.service.OrderLineCommand;
+import jpabook.jpashop.service.OrderService;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * xToMany (OneToMany) 성능 최적화
  * order -> orderItems -> item
  */
+@Validated
 @RequiredArgsConstructor
 @RestController
 public class OrderApiController {
 
+    private static final int MAX_LIMIT = 1000;
+
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final OrderExportService orderExportService;
+    private final OrderService orderService;
+    private final AggregateVersions aggregateVersions;
 
     /**
      * V1 - 엔티티를 직접 노출
@@ -76,8 +102,8 @@ public class OrderApiController {
      * default_batch_fetch_size 설정을 통해 in 쿼리를 사용한 최적화
      */
     @GetMapping("/api/v3.1/orders")
-    public List<OrderDto> ordersV3_page(@RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "100") int limit) {
+    public List<OrderDto> ordersV3_page(@RequestParam(defaultValue = "0") @PositiveOrZero int offset,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_LIMIT) int limit) {
         List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit);
 
         return orders.stream()
@@ -85,6 +111,24 @@ public class OrderApiController {
                 .toList();
     }
 
+    /**
+     * V3.1 - keyset 페이징 (mode=keyset)
+     * offset 대신 이전 응답의 nextCursor 를 cursor 로 넘겨서 다음 페이지를 조회한다.
+     * orderItems 는 V3.1 과 동일하게 default_batch_fetch_size 로 in 쿼리 조회된다.
+     */
+    @GetMapping(value = "/api/v3.1/orders", params = "mode=keyset")
+    public KeysetResult<List<OrderDto>> ordersV3_keyset(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_LIMIT) int limit) {
+        OrderCursor orderCursor = StringUtils.hasText(cursor) ? OrderCursor.decode(cursor) : null;
+        OrderKeysetPage page = orderRepository.findAllWithMemberDeliveryAfter(orderCursor, limit);
+
+        List<OrderDto> orders = page.getOrders().stream()
+                .map(OrderDto::new)
+                .toList();
+
+        return new KeysetResult<>(orders, page.getNextCursor());
+    }
+
     /**
      * V4 - JPA 에서 DTO 로 바로 조회
      */
@@ -95,29 +139,100 @@ public class OrderApiController {
 
     /**
      * V5 - JPA 에서 DTO 로 바로 조회 - 컬렉션 조회 최적화
+     * 주문, 회원, 상품이 변경되지 않았으면 조회 없이 304 응답 (ETag, If-None-Match)
      */
     @GetMapping("/api/v5/orders")
-    public List<OrderQueryDto> ordersV5() {
+    public List<OrderQueryDto> ordersV5(WebRequest request) {
+        if (request.checkNotModified(aggregateVersions.etag(Aggregate.ORDER, Aggregate.MEMBER, Aggregate.ITEM))) {
+            return null;
+        }
         return orderQueryRepository.findAllByDto_optimization();
     }
 
     /**
      * V6 - JPA 에서 DTO 로 바로 조회 - 플랫 데이터 최적화
+     * orderId 순으로 정렬된 row 를 한 번 순회하면서 주문 단위로 묶는다. (주문 순서 유지)
      */
     @GetMapping("/api/v6/orders")
     public List<OrderQueryDto> ordersV6() {
         List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
 
-        return flats.stream()
-                .collect(groupingBy(
-                        o -> new OrderQueryDto(o.getOrderId(), o.getName(), o.getOrderDate(), o.getOrderStatus(),
-                                o.getAddress()),
-                        mapping(o -> new OrderItemQueryDto(o.getOrderId(), o.getItemName(), o.getOrderPrice(),
-                                o.getCount()), toList())
-                )).entrySet().stream()
-                .map(e -> new OrderQueryDto(e.getKey().getOrderId(), e.getKey().getName(), e.getKey().getOrderDate(),
-                        e.getKey().getOrderStatus(), e.getKey().getAddress(), e.getValue()))
+        return OrderQueryRepository.ORDER_FLAT_ASSEMBLER.assemble(flats);
+    }
+
+    /**
+     * V6 - 플랫 데이터 스트리밍 export (NDJSON)
+     * 커서로 읽으면서 주문 하나가 완성될 때마다 한 줄씩 바로 응답에 쓴다.
+     */
+    @GetMapping(value = "/api/v6/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void ordersV6_export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        orderExportService.exportAll(response.getOutputStream());
+    }
+
+    /**
+     * 대량 주문 - 주문 여러 건(주문마다 주문상품 여러 개)을 한 번에 생성
+     * 시퀀스 pooled 할당 + JDBC batch insert 로 저장하고, 초당 insert 한 row 수를 함께 반환한다.
+     */
+    @PostMapping("/api/v1/orders/bulk")
+    public BulkOrderResponse bulkOrder(@RequestBody @Valid BulkOrderRequest request) {
+        List<OrderCommand> commands = request.getOrders().stream()
+                .map(order -> new OrderCommand(order.getMemberId(), order.getLines().stream()
+                        .map(line -> new OrderLineCommand(line.getItemId(), line.getCount()))
+                        .toList()))
                 .toList();
+
+        BulkOrderResult result = orderService.orderAll(commands);
+        return new BulkOrderResponse(result.getOrders(), result.getRows(), result.getElapsedMillis(),
+                result.getRowsPerSecond());
+    }
+
+    @Data
+    static class BulkOrderRequest {
+
+        @NotEmpty
+        @Valid
+        private List<OrderRequest> orders;
+    }
+
+    @Data
+    static class OrderRequest {
+
+        @NotNull
+        private Long memberId;
+
+        @NotEmpty
+        @Valid
+        private List<OrderLineRequest> lines;
+    }
+
+    @Data
+    static class OrderLineRequest {
+
+        @NotNull
+        private Long itemId;
+
+        @Positive
+        private int count;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BulkOrderResponse {
+
+        private int orders;
+        private long rows;
+        private long elapsedMillis;
+        private long rowsPerSecond;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class KeysetResult<T> {
+
+        private T data;
+        private String nextCursor;
     }
 
     @Data
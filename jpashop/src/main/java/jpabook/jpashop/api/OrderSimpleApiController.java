@@ -1,5 +1,8 @@
 package jpabook.jpashop.api;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.time.LocalDateTime;
 import java.util.List;
 import jpabook.jpashop.domain.Address;
@@ -9,22 +12,33 @@ import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.repository.OrderSimpleQueryDto;
 import jpabook.jpashop.repository.OrderSimpleQueryRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.service.AggregateVersions;
+import jpabook.jpashop.service.AggregateVersions.Aggregate;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * xToOne (ManyToOne, OneToOne) 성능 최적화
  * Order -> Member
  * Order -> Delivery
  */
+@Validated
 @RequiredArgsConstructor
 @RestController
 public class OrderSimpleApiController {
 
+    private static final int MAX_LIMIT = 1000;
+
     private final OrderRepository orderRepository;
     private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final AggregateVersions aggregateVersions;
 
     /**
      * V1 - 엔티티를 직접 노출
@@ -60,12 +74,26 @@ public class OrderSimpleApiController {
 
     /**
      * V4 - JPA 에서 DTO 로 바로 조회
+     * 주문, 회원이 변경되지 않았으면 조회 없이 304 응답 (ETag, If-None-Match)
      */
     @GetMapping("/api/v4/simple-orders")
-    public List<OrderSimpleQueryDto> ordersV4() {
+    public List<OrderSimpleQueryDto> ordersV4(WebRequest request) {
+        if (request.checkNotModified(aggregateVersions.etag(Aggregate.ORDER, Aggregate.MEMBER))) {
+            return null;
+        }
         return orderSimpleQueryRepository.findOrderDtos();
     }
 
+    /**
+     * V5 - 주문 목록 조회용 테이블(order_summary) 조회
+     * 주문 변경 시 함께 갱신해 둔 테이블 하나만 (orderDate, order_id) 인덱스 순서로 읽는다. (조인 없음)
+     */
+    @GetMapping("/api/v5/simple-orders")
+    public List<OrderSimpleQueryDto> ordersV5(@RequestParam(defaultValue = "0") @PositiveOrZero int offset,
+            @RequestParam(defaultValue = "100") @Positive @Max(MAX_LIMIT) int limit) {
+        return orderSummaryRepository.findOrderDtos(offset, limit);
+    }
+
     @Data
     static class SimpleOrderDto {
 
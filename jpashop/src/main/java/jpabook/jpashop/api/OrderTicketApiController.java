@@ -0,0 +1,82 @@
+package jpabook.jpashop.api;
+
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import jpabook.jpashop.api.OrderApiController.OrderRequest;
+import jpabook.jpashop.service.OrderCommand;
+import jpabook.jpashop.service.OrderIngestionService;
+import jpabook.jpashop.service.OrderLineCommand;
+import jpabook.jpashop.service.OrderTicket;
+import jpabook.jpashop.service.OrderTicketStatus;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 주문 접수 (jpashop.ingestion.enabled=true)
+ * 주문을 바로 커밋하지 않고 대기열에 넣은 후 접수표를 반환한다. 처리 결과는 접수표로 조회하거나 기다린다.
+ * 대기열을 사용하지 않으면 컨트롤러를 등록하지 않는다. (404)
+ */
+@ConditionalOnProperty(name = "jpashop.ingestion.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RestController
+public class OrderTicketApiController {
+
+    private final OrderIngestionService orderIngestionService;
+
+    @PostMapping("/api/v1/order-tickets")
+    public ResponseEntity<OrderTicketDto> submit(@RequestBody @Valid OrderRequest request) {
+        OrderTicket ticket = orderIngestionService.submit(new OrderCommand(request.getMemberId(),
+                request.getLines().stream()
+                        .map(line -> new OrderLineCommand(line.getItemId(), line.getCount()))
+                        .toList()));
+
+        return ResponseEntity.accepted().body(new OrderTicketDto(ticket));
+    }
+
+    /**
+     * waitMillis 를 지정하면 처리가 끝날 때까지 최대 waitMillis 만큼 기다린다.
+     * 기다리는 동안 요청 스레드를 점유하지 않는다. (비동기 응답)
+     */
+    @GetMapping("/api/v1/order-tickets/{ticketId}")
+    public CompletableFuture<OrderTicketDto> ticket(@PathVariable String ticketId,
+            @RequestParam(defaultValue = "0") long waitMillis) {
+        OrderTicket ticket = orderIngestionService.findTicket(ticketId);
+        if (ticket == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 접수표입니다.");
+        }
+
+        if (waitMillis <= 0 || ticket.getStatus() != OrderTicketStatus.PENDING) {
+            return CompletableFuture.completedFuture(new OrderTicketDto(ticket));
+        }
+        return ticket.getCompletion()
+                .thenApply(OrderTicketDto::new)
+                .completeOnTimeout(new OrderTicketDto(ticket), waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Data
+    static class OrderTicketDto {
+
+        private String ticketId;
+        private OrderTicketStatus status;
+        private Long orderId;
+        private String failureReason;
+
+        public OrderTicketDto(OrderTicket ticket) {
+            ticketId = ticket.getId();
+            status = ticket.getStatus();
+            orderId = ticket.getOrderId();
+            failureReason = ticket.getFailureReason();
+        }
+    }
+}
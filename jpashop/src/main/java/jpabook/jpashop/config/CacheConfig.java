@@ -0,0 +1,33 @@
+package jpabook.jpashop.config;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String ITEM_CATALOG = "itemCatalog"; // 상품 전체 목록
+    public static final String ITEM = "item"; // 상품 단건 (key: itemId)
+    public static final String CATEGORY_TREE = "categoryTree"; // 카테고리 전체 트리
+
+    /**
+     * 크기, TTL 은 jpashop.cache.spec 으로 변경 (Caffeine spec)
+     * recordStats 로 hit, miss, eviction 메트릭을 수집한다. (/actuator/metrics/cache.gets ...)
+     * 트랜잭션 안에서의 evict 는 커밋 이후에 반영된다. (커밋 전에 다른 요청이 이전 값을 다시 캐시하는 것을 방지)
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${jpashop.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setCacheNames(List.of(ITEM_CATALOG, ITEM, CATEGORY_TREE));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
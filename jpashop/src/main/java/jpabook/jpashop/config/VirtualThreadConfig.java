@@ -0,0 +1,54 @@
+package jpabook.jpashop.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * 가상 스레드 실행 모드 (jpashop.virtual-threads.enabled=true, JDK 21 이상)
+ * 톰캣 요청 처리 스레드를 가상 스레드로 바꾼다. 요청 스레드에서 호출되는 @Transactional 서비스, JDBC 호출도 가상 스레드에서 실행된다.
+ * 동시 요청 수는 톰캣 스레드 수 대신 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size)에서 제한된다.
+ * 소스 호환성이 17 이므로 Executors.newVirtualThreadPerTaskExecutor() 는 리플렉션으로 호출한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpashop.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * 기본 applicationTaskExecutor 대신 사용 (OrderQueryRepository 병렬 조회)
+     * 동시 작업 수 제한이 없으므로 커넥션을 사용하는 작업은 호출하는 쪽에서 제한한다. (OrderQueryRepository.partitionConnections)
+     */
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${jpashop.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. (현재 " + Runtime.version() + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 Executor 를 생성할 수 없습니다.", e);
+        }
+    }
+}
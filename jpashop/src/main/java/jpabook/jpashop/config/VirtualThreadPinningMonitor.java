@@ -0,0 +1,112 @@
+package jpabook.jpashop.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 가상 스레드 pinning 리포트
+ * synchronized 블록 안에서 블로킹(JDBC 드라이버 등)되면 가상 스레드가 캐리어 스레드를 붙잡은 채로 멈춘다. (pinning)
+ * JFR jdk.VirtualThreadPinned 이벤트를 구독해서 threshold 이상 pinning 된 위치를 모으고, 종료 시 위치별 횟수와 시간을 출력한다.
+ * 위치는 스택에서 JDK 가 아닌 첫 번째 프레임이다. (-Djdk.tracePinnedThreads=full 보다 가볍게 상시로 켜 둘 수 있다.)
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Map<String, PinnedStats> statsByLocation = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        recordingStream.close();
+        recordingStream = null;
+        report();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String location = location(event.getStackTrace());
+        statsByLocation.computeIfAbsent(location, key -> new PinnedStats()).add(event.getDuration());
+        log.warn("가상 스레드 pinning {}ms - {}", event.getDuration().toMillis(), location);
+    }
+
+    /**
+     * 위치별 pinning 횟수, 시간 (횟수가 많은 순)
+     */
+    public void report() {
+        if (statsByLocation.isEmpty()) {
+            log.info("가상 스레드 pinning 없음 (threshold {}ms)", threshold.toMillis());
+            return;
+        }
+
+        List<Map.Entry<String, PinnedStats>> entries = statsByLocation.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, PinnedStats> entry) -> entry.getValue().count.sum())
+                        .reversed())
+                .toList();
+
+        StringBuilder report = new StringBuilder("가상 스레드 pinning 리포트 (threshold ")
+                .append(threshold.toMillis()).append("ms)");
+        for (Map.Entry<String, PinnedStats> entry : entries) {
+            report.append(System.lineSeparator())
+                    .append("  ").append(entry.getValue().count.sum()).append("회, ")
+                    .append(entry.getValue().totalNanos.sum() / 1_000_000).append("ms - ")
+                    .append(entry.getKey());
+        }
+        log.warn(report.toString());
+    }
+
+    private static String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = frames.get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+
+    private static class PinnedStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void add(Duration duration) {
+            count.increment();
+            totalNanos.add(duration.toNanos());
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package jpabook.jpashop.controller;
 
-import java.util.List;
 import jpabook.jpashop.domain.item.Book;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListDto;
 import jpabook.jpashop.service.ItemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,9 +39,12 @@ public class ItemController {
         return "redirect:/";
     }
 
+    /**
+     * 상품 목록 - 전체 상품 대신 페이지 단위로 DTO 조회
+     */
     @GetMapping("/items")
-    public String list(Model model) {
-        List<Item> items = itemService.findItems();
+    public String list(@PageableDefault(size = 20) Pageable pageable, Model model) {
+        Page<ItemListDto> items = itemService.findItemPage(pageable);
         model.addAttribute("items", items);
         return "items/itemList";
     }
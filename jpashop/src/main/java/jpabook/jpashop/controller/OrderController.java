@@ -2,13 +2,19 @@ package jpabook.jpashop.controller;
 
 import java.util.List;
 import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListDto;
+import jpabook.jpashop.repository.OrderListDto;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.service.ItemService;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderCommand;
+import jpabook.jpashop.service.OrderIngestionService;
+import jpabook.jpashop.service.OrderLineCommand;
 import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,11 +30,12 @@ public class OrderController {
     private final ItemService itemService;
     private final OrderService orderService;
     private final MemberService memberService;
+    private final OrderIngestionService orderIngestionService;
 
     @GetMapping("/order")
     public String createForm(Model model) {
         List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+        List<ItemListDto> items = itemService.findItems();
 
         model.addAttribute("members", members);
         model.addAttribute("items", items);
@@ -38,13 +45,23 @@ public class OrderController {
 
     @PostMapping("/order")
     public String order(@RequestParam Long memberId, @RequestParam Long itemId, @RequestParam int count) {
+        if (orderIngestionService.isEnabled()) {
+            // 주문 접수 대기열 모드 - 접수만 하고 바로 응답한다. (주문 목록에는 커밋된 이후에 보인다.)
+            orderIngestionService.submit(new OrderCommand(memberId, List.of(new OrderLineCommand(itemId, count))));
+            return "redirect:/orders";
+        }
+
         orderService.order(memberId, itemId, count);
         return "redirect:/orders";
     }
 
+    /**
+     * 주문 목록 - 화면에 필요한 값만 DTO 로 페이지 단위 조회 (화면 렌더링 중 지연 로딩 없음)
+     */
     @GetMapping("/orders")
-    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
+    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+            @PageableDefault(size = 20) Pageable pageable, Model model) {
+        Page<OrderListDto> orders = orderService.findOrderPage(orderSearch, pageable);
         model.addAttribute("orders", orders);
         return "order/orderList";
     }
@@ -4,24 +4,33 @@ import static jakarta.persistence.FetchType.LAZY;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
 import jpabook.jpashop.domain.item.Item;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path")) // 하위 트리 조회용 인덱스 (path like 'prefix%')
+@EntityListeners(CategoryCacheListener.class) // 변경 시 카테고리 트리 캐시 evict
 @Entity
 public class Category {
 
+    public static final String ROOT_PATH = "/";
+
     @Id
     @GeneratedValue
     @Column(name = "category_id")
@@ -42,9 +51,56 @@ public class Category {
 
     private String name;
 
+    /**
+     * 조상 카테고리 id 경로 (materialized path)
+     * 루트는 "/", 루트(1)의 자식은 "/1/", 손자는 "/1/4/" - 하위 트리는 path like '/1/%' 한 번으로 조회한다.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private String path;
+
+    @Setter(AccessLevel.NONE)
+    private int depth; // 루트는 0
+
     //== 연관관계 편의 메서드 ==//
     public void addChildCategory(Category child) {
+        if (child.getParent() != null) {
+            child.getParent().getChild().remove(child); // 다른 카테고리 밑으로 이동
+        }
         this.child.add(child);
         child.setParent(this);
+
+        if (id != null) {
+            child.assignPath(); // 저장 전이면 저장할 때 설정된다. (PrePersist)
+        }
+    }
+
+    /**
+     * 하위 카테고리들의 path 앞부분 (자기 자신의 path + id)
+     */
+    public String getSubtreePath() {
+        return path + id + "/";
+    }
+
+    /**
+     * 하위 카테고리인지 확인 (자기 자신 포함)
+     */
+    public boolean contains(Category category) {
+        return id.equals(category.getId()) || category.getPath().startsWith(getSubtreePath());
+    }
+
+    @PrePersist
+    private void assignPath() {
+        if (parent == null) {
+            path = ROOT_PATH;
+            depth = 0;
+            return;
+        }
+
+        if (parent.getId() == null) {
+            throw new IllegalStateException("상위 카테고리를 먼저 저장해야 합니다.");
+        }
+        path = parent.getSubtreePath();
+        depth = parent.getDepth() + 1;
     }
 }
@@ -0,0 +1,31 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jpabook.jpashop.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * 카테고리가 저장, 수정(이름, 이동), 삭제되면 카테고리 트리 캐시를 비운다.
+ * 하위 카테고리 path 벌크 update 는 엔티티를 거치지 않으므로 CategoryService 에서 evict 한다.
+ */
+public class CategoryCacheListener {
+
+    private final CacheManager cacheManager;
+
+    public CategoryCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Category category) {
+        Cache tree = cacheManager.getCache(CacheConfig.CATEGORY_TREE);
+        if (tree != null) {
+            tree.clear();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
@@ -13,6 +15,7 @@ import lombok.Setter;
 
 @Getter
 @Setter
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_member_name", columnNames = "name")) // 동시에 같은 이름으로 가입하는 경우 방지
 @Entity
 public class Member {
 
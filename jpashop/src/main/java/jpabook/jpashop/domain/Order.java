@@ -9,15 +9,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import jpabook.jpashop.domain.item.ItemStock;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -25,12 +30,14 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor(access = PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_order_date_id", columnList = "orderDate, order_id")) // keyset 페이징용 인덱스
 @Entity
 public class Order {
 
+    // 주문, 주문상품, 배송은 테이블별 시퀀스 이름을 명시한다. (Hibernate 버전, 이름 전략이 바뀌어도 기존 시퀀스를 그대로 사용)
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long id;
 
@@ -50,6 +57,14 @@ public class Order {
     @Enumerated(EnumType.STRING) // EnumType.ORDINAL 은 숫자로 들어가기 때문에 중간에 다른 상태가 추가되면 문제가 생길 수 있음
     private OrderStatus status; // 주문 상태 [ORDER, CANCEL]
 
+    /**
+     * 전체 주문 가격 (주문상품 가격 * 수량의 합)
+     * 주문 목록에서 주문상품을 로딩하지 않도록 주문상품을 추가할 때 함께 계산해서 저장한다.
+     * 컬럼 추가 이전 주문은 null 이다. (OrderService.backfillTotalPrices 로 채운다.)
+     */
+    @Setter(AccessLevel.NONE)
+    private Integer totalPrice = 0;
+
     //== 연관관계 편의 메서드 ==//
     // 양방향 연관관계에서는 연관관계 편의 메서드를 작성하는 것이 좋음
     public void setMember(Member member) {
@@ -60,6 +75,7 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice = (totalPrice == null ? 0 : totalPrice) + orderItem.getTotalPrice();
     }
 
     public void setDelivery(Delivery delivery) {
@@ -91,31 +107,17 @@ public class Order {
 
     /**
      * 주문 취소
+     * 재고는 동시 주문에도 유실되지 않도록 ItemStock(update 쿼리)으로 원복한다.
      */
-    public void cancel() {
+    public void cancel(ItemStock itemStock) {
         if (delivery.getStatus() == DeliveryStatus.COMP) {
             throw new IllegalStateException("이미 배송 완료된 상품은 취소가 불가능합니다.");
         }
 
         this.setStatus(OrderStatus.CANCEL);
-
         for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
+            orderItem.cancel(itemStock); // 재고 수량 원복
         }
-    }
-
-    //== 조회 로직 ==//
-
-    /**
-     * 전체 주문 가격 조회
-     */
-    public int getTotalPrice() {
-        int totalPrice = 0;
-
-        for (OrderItem orderItem : orderItems) {
-            totalPrice += orderItem.getTotalPrice();
-        }
-
-        return totalPrice;
+        // totalPrice 는 주문 당시 금액으로 유지한다. (취소 여부는 status 로 구분, 매출 집계 시 status 조건 사용)
     }
 }
@@ -6,10 +6,13 @@ import static lombok.AccessLevel.PROTECTED;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemStock;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -21,7 +24,8 @@ import lombok.Setter;
 public class OrderItem {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -37,19 +41,24 @@ public class OrderItem {
     private int count; // 주문 수량
 
     //== 생성 메서드 ==//
-    public static OrderItem createOrderItem(Item item, int orderPrice, int count) {
+    /**
+     * 재고가 이미 차감된 상품으로 주문상품 생성 (ItemRepository.removeStock)
+     */
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
         OrderItem orderItem = new OrderItem();
         orderItem.setItem(item);
         orderItem.setOrderPrice(orderPrice);
         orderItem.setCount(count);
-
-        item.removeStock(count);
         return orderItem;
     }
 
     //== 비즈니스 로직 ==//
-    public void cancel() {
-        getItem().addStock(count); // 재고 수량 원복
+
+    /**
+     * 주문 취소 - 주문 수량만큼 재고 원복
+     */
+    public void cancel(ItemStock itemStock) {
+        itemStock.addStock(getItem(), count);
     }
 
     //== 조회 로직 ==//
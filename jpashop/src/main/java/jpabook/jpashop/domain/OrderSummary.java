@@ -0,0 +1,69 @@
+package jpabook.jpashop.domain;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 주문 목록 조회용 테이블 (orders + member + delivery 비정규화)
+ * 주문, 주문 취소, 회원 이름 변경, 배송 상태 변경 시 같은 트랜잭션에서 함께 변경한다. (OrderService, MemberService)
+ * 주문 목록은 조인 없이 이 테이블만 인덱스 순서로 읽는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = PROTECTED)
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_order_date", columnList = "orderDate, order_id"),
+        @Index(name = "idx_order_summary_member_id", columnList = "member_id") // 회원 이름 변경
+})
+@Entity
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId; // 주문 id 를 그대로 사용
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String memberName;
+
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus deliveryStatus;
+
+    @Embedded
+    private Address address; // 배송지
+
+    //== 생성 메서드 ==//
+
+    /**
+     * 주문을 저장(persist)해서 id 가 생성된 이후에 사용
+     */
+    public static OrderSummary createOrderSummary(Order order) {
+        OrderSummary orderSummary = new OrderSummary();
+        orderSummary.setOrderId(order.getId());
+        orderSummary.setMemberId(order.getMember().getId());
+        orderSummary.setMemberName(order.getMember().getName());
+        orderSummary.setOrderDate(order.getOrderDate());
+        orderSummary.setOrderStatus(order.getStatus());
+        orderSummary.setDeliveryStatus(order.getDelivery().getStatus());
+        orderSummary.setAddress(order.getDelivery().getAddress());
+        return orderSummary;
+    }
+}
@@ -3,6 +3,7 @@ package jpabook.jpashop.domain.item;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
@@ -19,6 +20,7 @@ import lombok.Setter;
 @Setter
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE) // 상속관계 매핑
 @DiscriminatorColumn(name = "dtype") // DTYPE 컬럼을 사용해서 구분
+@EntityListeners(ItemCacheListener.class) // 변경 시 상품 캐시 evict
 @Entity
 public abstract class Item {
 
@@ -0,0 +1,37 @@
+package jpabook.jpashop.domain.item;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jpabook.jpashop.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * 상품이 저장, 수정(재고 변경 포함), 삭제되면 상품 캐시를 비운다.
+ * saveItem, updateItem 뿐만 아니라 주문/주문 취소로 인한 재고 변경도 모두 여기서 처리된다.
+ * 스프링 빈으로 생성된다. (SpringBeanContainer)
+ */
+public class ItemCacheListener {
+
+    private final CacheManager cacheManager;
+
+    public ItemCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Item item) {
+        Cache catalog = cacheManager.getCache(CacheConfig.ITEM_CATALOG);
+        if (catalog != null) {
+            catalog.clear();
+        }
+
+        Cache items = cacheManager.getCache(CacheConfig.ITEM);
+        if (items != null && item.getId() != null) {
+            items.evict(item.getId());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.domain.item;
+
+/**
+ * 상품 재고 변경
+ * 같은 상품을 동시에 주문/취소해도 유실되지 않도록 저장소에서 원자적으로 처리한다. (ItemRepository)
+ */
+public interface ItemStock {
+
+    /**
+     * 재고 차감 - 재고가 부족하면 NotEnoughStockException
+     */
+    void removeStock(Item item, int quantity);
+
+    /**
+     * 재고 증가
+     */
+    void addStock(Item item, int quantity);
+}
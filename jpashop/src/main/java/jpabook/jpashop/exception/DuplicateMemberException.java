@@ -0,0 +1,23 @@
+package jpabook.jpashop.exception;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 이미 존재하는 이름으로 가입 (names: 중복된 이름)
+ */
+@Getter
+public class DuplicateMemberException extends IllegalStateException {
+
+    private final List<String> names;
+
+    public DuplicateMemberException(List<String> names) {
+        super("이미 존재하는 회원입니다.");
+        this.names = names;
+    }
+
+    public DuplicateMemberException(List<String> names, Throwable cause) {
+        super("이미 존재하는 회원입니다.", cause);
+        this.names = names;
+    }
+}
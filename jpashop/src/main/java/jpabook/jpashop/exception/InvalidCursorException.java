@@ -0,0 +1,12 @@
+package jpabook.jpashop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST) // 클라이언트가 넘긴 keyset 커서가 잘못된 경우
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
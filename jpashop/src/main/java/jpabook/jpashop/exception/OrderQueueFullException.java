@@ -0,0 +1,24 @@
+package jpabook.jpashop.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 주문 접수 대기열이 가득 차면 잠시 후 다시 요청
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException() {
+        super();
+    }
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+
+    public OrderQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public OrderQueueFullException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,37 @@
+package jpabook.jpashop.monitor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 하나의 범위(요청, 트랜잭션)에서 실행된 SQL 문 수
+ * SQL 은 바인딩 값이 빠진 형태(? 포함)로 모으기 때문에, 바인딩 값만 다른 같은 쿼리가 반복되면(N+1) 같은 SQL 로 집계된다.
+ */
+public class QueryCount {
+
+    private int total;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+
+    public void record(String sql) {
+        total++;
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * threshold 번 이상 반복된 SQL (N+1 의심)
+     */
+    public Map<String, Integer> getRepeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsBySql.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,36 @@
+package jpabook.jpashop.monitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * HTTP 요청 단위로 SQL 문 수를 센다.
+ * 요청이 끝나면 메트릭으로 기록한다. (응답 헤더는 QueryCountResponseAdvice 에서 추가)
+ */
+@RequiredArgsConstructor
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryCountListener queryCountListener;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount queryCount = QueryCountHolder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.clear();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryCountListener.report("request", pattern != null ? pattern.toString() : request.getRequestURI(),
+                    queryCount);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.monitor;
+
+/**
+ * 현재 스레드(HTTP 요청)의 QueryCount 보관
+ */
+public class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> HOLDER = new ThreadLocal<>();
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        HOLDER.set(queryCount);
+        return queryCount;
+    }
+
+    public static QueryCount get() {
+        return HOLDER.get();
+    }
+
+    public static void clear() {
+        HOLDER.remove();
+    }
+}
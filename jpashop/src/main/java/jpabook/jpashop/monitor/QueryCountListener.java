@@ -0,0 +1,85 @@
+package jpabook.jpashop.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * p6spy 이벤트로 실행된 SQL 문을 HTTP 요청 단위, 트랜잭션 단위로 센다.
+ * (p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동으로 등록한다.)
+ */
+@Slf4j
+@Component
+public class QueryCountListener extends SimpleJdbcEventListener {
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+
+    public QueryCountListener(MeterRegistry meterRegistry,
+            @Value("${jpashop.query-monitor.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos,
+            SQLException e) {
+        String sql = statementInformation.getSql();
+
+        QueryCount requestCount = QueryCountHolder.get();
+        if (requestCount != null) {
+            requestCount.record(sql);
+        }
+
+        QueryCount transactionCount = currentTransactionCount();
+        if (transactionCount != null) {
+            transactionCount.record(sql);
+        }
+    }
+
+    private QueryCount currentTransactionCount() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        QueryCount queryCount = (QueryCount) TransactionSynchronizationManager.getResource(this);
+        if (queryCount == null) {
+            QueryCount newCount = new QueryCount();
+            TransactionSynchronizationManager.bindResource(this, newCount);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(QueryCountListener.this);
+                    report("transaction", TransactionSynchronizationManager.getCurrentTransactionName(), newCount);
+                }
+            });
+            queryCount = newCount;
+        }
+        return queryCount;
+    }
+
+    /**
+     * SQL 문 수를 메트릭으로 기록하고, 반복된 SQL 이 있으면 경고 로그를 남긴다.
+     */
+    public void report(String scope, String name, QueryCount queryCount) {
+        meterRegistry.summary("jpashop.sql.statements", "scope", scope).record(queryCount.getTotal());
+
+        Map<String, Integer> repeated = queryCount.getRepeated(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("jpashop.sql.repeated", "scope", scope).increment(repeated.size());
+            repeated.forEach((sql, count) ->
+                    log.warn("N+1 의심 [{} {}] {}번 반복: {}", scope, name, count, sql));
+        }
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+}
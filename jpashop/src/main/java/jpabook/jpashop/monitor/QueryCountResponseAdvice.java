@@ -0,0 +1,43 @@
+package jpabook.jpashop.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * API 응답 헤더에 현재 요청에서 실행된 SQL 문 수를 추가한다.
+ * - X-Query-Count: SQL 문 수
+ * - X-Query-Repeated: 바인딩 값만 다르게 반복 실행된 SQL 종류 수 (N+1 의심)
+ */
+@RequiredArgsConstructor
+@RestControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_REPEATED_HEADER = "X-Query-Repeated";
+
+    private final QueryCountListener queryCountListener;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        QueryCount queryCount = QueryCountHolder.get();
+        if (queryCount != null) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(queryCount.getTotal()));
+            response.getHeaders().set(QUERY_REPEATED_HEADER,
+                    String.valueOf(queryCount.getRepeated(queryCountListener.getRepeatThreshold()).size()));
+        }
+        return body;
+    }
+}
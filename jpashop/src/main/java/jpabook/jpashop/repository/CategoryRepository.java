@@ -0,0 +1,74 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 전체 카테고리 - 상위 카테고리가 먼저 오도록 depth 순으로 정렬
+     */
+    public List<Category> findAll() {
+        return em.createQuery("select c from Category c order by c.depth, c.id", Category.class)
+                .getResultList();
+    }
+
+    /**
+     * 하위 트리 전체(자기 자신 포함)와 카테고리별 상품을 쿼리 한 번으로 조회
+     * 기준 카테고리의 path 는 서브쿼리로 구하고, path like 로 하위 카테고리를 찾는다. (idx_category_path)
+     */
+    public List<Category> findSubtreeWithItems(Long categoryId) {
+        return em.createQuery("select c from Category c"
+                        + " left join fetch c.items"
+                        + " where c.id = :id"
+                        + " or c.path like (select concat(r.path, cast(r.id as String), '/%')"
+                        + " from Category r where r.id = :id)"
+                        + " order by c.depth, c.id", Category.class)
+                .setParameter("id", categoryId)
+                .getResultList();
+    }
+
+    /**
+     * 하위 트리 전체(자기 자신 포함)에 속한 상품 - category_item 조인 한 번으로 조회
+     */
+    public List<Item> findItemsInSubtree(Long categoryId) {
+        return em.createQuery("select distinct i from Item i"
+                        + " join i.categories c"
+                        + " where c.id = :id"
+                        + " or c.path like (select concat(r.path, cast(r.id as String), '/%')"
+                        + " from Category r where r.id = :id)", Item.class)
+                .setParameter("id", categoryId)
+                .getResultList();
+    }
+
+    /**
+     * 카테고리 이동 시 하위 카테고리들의 path, depth 변경 - 하위 카테고리 수만큼 row 가 변경되므로 벌크 update 로 처리한다.
+     */
+    public int updateSubtreePath(String oldSubtreePath, String newSubtreePath, int depthDelta) {
+        return em.createQuery("update Category c"
+                        + " set c.path = concat(:newPath, substring(c.path, :from)),"
+                        + " c.depth = c.depth + :depthDelta"
+                        + " where c.path like :oldPattern")
+                .setParameter("newPath", newSubtreePath)
+                .setParameter("from", oldSubtreePath.length() + 1)
+                .setParameter("depthDelta", depthDelta)
+                .setParameter("oldPattern", oldSubtreePath + "%")
+                .executeUpdate();
+    }
+}
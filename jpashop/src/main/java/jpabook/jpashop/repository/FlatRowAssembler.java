@@ -0,0 +1,63 @@
+package jpabook.jpashop.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 플랫 데이터 -> 부모/자식 구조 조립 (정렬 병합)
+ * row 가 부모 key 순으로 정렬되어 있다는 전제로 한 번만 순회한다.
+ * key 가 바뀔 때 새 부모를 만들기 때문에 해시나 임시 key 객체가 필요 없고, 입력 순서가 그대로 유지된다.
+ *
+ * @param <R> row 타입
+ * @param <P> 부모 타입
+ */
+public class FlatRowAssembler<R, P> {
+
+    private final Function<R, ?> keyExtractor;
+    private final Function<R, P> parentFactory;
+    private final BiConsumer<P, R> childAppender;
+
+    public FlatRowAssembler(Function<R, ?> keyExtractor, Function<R, P> parentFactory,
+            BiConsumer<P, R> childAppender) {
+        this.keyExtractor = keyExtractor;
+        this.parentFactory = parentFactory;
+        this.childAppender = childAppender;
+    }
+
+    public List<P> assemble(List<R> rows) {
+        List<P> result = new ArrayList<>();
+        assemble(rows.iterator(), result::add);
+        return result;
+    }
+
+    /**
+     * 부모가 완성될 때마다(다음 key 가 나오거나 row 가 끝날 때) consumer 로 넘긴다.
+     */
+    public void assemble(Iterator<R> rows, Consumer<P> consumer) {
+        Object currentKey = null;
+        P current = null;
+
+        while (rows.hasNext()) {
+            R row = rows.next();
+            Object key = keyExtractor.apply(row);
+
+            if (current == null || !Objects.equals(currentKey, key)) {
+                if (current != null) {
+                    consumer.accept(current);
+                }
+                current = parentFactory.apply(row);
+                currentKey = key;
+            }
+            childAppender.accept(current, row);
+        }
+
+        if (current != null) {
+            consumer.accept(current);
+        }
+    }
+}
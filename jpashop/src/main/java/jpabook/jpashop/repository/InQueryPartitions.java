@@ -0,0 +1,44 @@
+package jpabook.jpashop.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * in 쿼리 파라미터 분할
+ * 파라미터 목록을 고정 크기로 나누고, 마지막 조각은 2의 거듭제곱 크기로 채운다. (마지막 값을 반복)
+ * - bind 파라미터 개수 제한을 넘지 않는다.
+ * - in 절의 길이가 몇 가지로 고정되므로 쿼리 플랜 캐시가 목록 길이마다 새로 쌓이지 않는다.
+ */
+public class InQueryPartitions {
+
+    private InQueryPartitions() {
+    }
+
+    public static <T> List<List<T>> partition(List<T> values, int partitionSize) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize 는 0 보다 커야 합니다.");
+        }
+
+        List<List<T>> partitions = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += partitionSize) {
+            int to = Math.min(from + partitionSize, values.size());
+            partitions.add(pad(values.subList(from, to), partitionSize));
+        }
+        return partitions;
+    }
+
+    private static <T> List<T> pad(List<T> values, int partitionSize) {
+        int paddedSize = Math.min(Integer.highestOneBit(values.size() - 1) << 1, partitionSize);
+        if (values.size() == 1 || values.size() >= paddedSize) {
+            return values;
+        }
+
+        List<T> padded = new ArrayList<>(paddedSize);
+        padded.addAll(values);
+        T last = values.get(values.size() - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+}
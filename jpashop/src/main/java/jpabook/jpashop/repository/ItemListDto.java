@@ -0,0 +1,23 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.item.Item;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 목록 화면, 상품 캐시용
+ * 캐시에 담기므로 변경할 수 없게 만든다. (엔티티를 캐시하면 지연 로딩, 롤백된 변경이 캐시에 남는 문제가 생긴다.)
+ */
+@Getter
+@AllArgsConstructor
+public class ItemListDto {
+
+    private final Long id;
+    private final String name;
+    private final int price;
+    private final int stockQuantity;
+
+    public static ItemListDto from(Item item) {
+        return new ItemListDto(item.getId(), item.getName(), item.getPrice(), item.getStockQuantity());
+    }
+}
@@ -1,14 +1,23 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.ItemStock;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 @RequiredArgsConstructor
 @Repository
-public class ItemRepository {
+public class ItemRepository implements ItemStock {
 
     private final EntityManager em;
 
@@ -28,4 +37,88 @@ public class ItemRepository {
         return em.createQuery("select i from Item i", Item.class)
                 .getResultList();
     }
+
+    /**
+     * 전체 상품 목록 - 화면에 필요한 컬럼만 DTO 로 조회한다.
+     */
+    public List<ItemListDto> findAllListDtos() {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.ItemListDto(i.id, i.name, i.price, i.stockQuantity)"
+                                + " from Item i"
+                                + " order by i.id", ItemListDto.class)
+                .getResultList();
+    }
+
+    /**
+     * 상품 목록 화면 - 화면에 필요한 컬럼만 DTO 로 조회한다. (목록 1번 + count 1번)
+     */
+    public Page<ItemListDto> findListDtos(Pageable pageable) {
+        List<ItemListDto> content = em.createQuery(
+                        "select new jpabook.jpashop.repository.ItemListDto(i.id, i.name, i.price, i.stockQuantity)"
+                                + " from Item i"
+                                + " order by i.id", ItemListDto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> em.createQuery("select count(i) from Item i", Long.class).getSingleResult());
+    }
+
+    /**
+     * 검색 색인 생성용 - 엔티티 대신 색인할 컬럼만 커서로 읽는다. (트랜잭션 안에서 호출)
+     */
+    public void streamSearchDocuments(int fetchSize, Consumer<ItemSearchDocument> consumer) {
+        try (Stream<ItemSearchDocument> documents = em.unwrap(Session.class).createQuery(
+                        "select new jpabook.jpashop.repository.ItemSearchDocument(i.id, i.name, treat(i as Book).author, treat(i as Book).isbn)"
+                                + " from Item i", ItemSearchDocument.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .stream()) {
+            documents.forEach(consumer);
+        }
+    }
+
+    /**
+     * 재고 차감 - 조건부 update 한 번으로 "재고 확인 + 차감"을 처리한다.
+     * 메모리에서 읽고 빼고 쓰는 방식(dirty checking)은 같은 상품을 동시에 주문하면 차감이 유실된다.
+     * update 한 row 의 락은 커밋까지 유지되므로 동시 주문은 DB 에서 순서대로 차감된다.
+     */
+    @Override
+    public void removeStock(Item item, int quantity) {
+        int updated = em.createQuery("update Item i"
+                        + " set i.stockQuantity = i.stockQuantity - :quantity"
+                        + " where i.id = :id"
+                        + " and i.stockQuantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("id", item.getId())
+                .executeUpdate();
+
+        if (updated == 0) {
+            throw new NotEnoughStockException("need more stock"); // 재고가 부족할 경우 예외 발생
+        }
+
+        em.refresh(item); // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 DB 값으로 다시 읽는다.
+    }
+
+    /**
+     * 재고 증가 (주문 취소) - removeStock 과 같은 이유로 update 한 번으로 처리한다.
+     */
+    @Override
+    public void addStock(Item item, int quantity) {
+        em.createQuery("update Item i"
+                        + " set i.stockQuantity = i.stockQuantity + :quantity"
+                        + " where i.id = :id")
+                .setParameter("quantity", quantity)
+                .setParameter("id", item.getId())
+                .executeUpdate();
+
+        em.refresh(item);
+    }
+
+    public List<Item> findAllById(Collection<Long> ids) {
+        return em.createQuery("select i from Item i where i.id in :ids", Item.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
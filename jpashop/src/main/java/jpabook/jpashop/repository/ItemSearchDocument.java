@@ -0,0 +1,26 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 검색 색인 대상 (상품 이름, 도서 저자, ISBN)
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchDocument {
+
+    private Long itemId;
+    private String name;
+    private String author; // 도서가 아니면 null
+    private String isbn; // 도서가 아니면 null
+
+    public static ItemSearchDocument from(Item item) {
+        if (item instanceof Book book) {
+            return new ItemSearchDocument(book.getId(), book.getName(), book.getAuthor(), book.getIsbn());
+        }
+        return new ItemSearchDocument(item.getId(), item.getName(), null, null);
+    }
+}
@@ -1,15 +1,22 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 import jpabook.jpashop.domain.Member;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
 @RequiredArgsConstructor
 @Repository
 public class MemberRepository {
 
+    private static final int NAME_IN_PARTITION_SIZE = 10000; // 수천 건의 이름을 쿼리 한 번으로 확인
+
     // @PersistenceContext 도 가능 / But, 스프링 부트에서 자동으로 주입해줌
     private final EntityManager em;
 
@@ -17,6 +24,19 @@ public class MemberRepository {
         em.persist(member);
     }
 
+    /**
+     * insert 를 바로 실행해서 유니크 제약 조건 위반을 호출한 곳에서 확인할 수 있게 한다.
+     */
+    public void saveAndFlush(Member member) {
+        em.persist(member);
+        em.flush();
+    }
+
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
     public Member findOne(Long id) {
         return em.find(Member.class, id);
     }
@@ -31,4 +51,47 @@ public class MemberRepository {
                 .setParameter("name", name)
                 .getResultList();
     }
+
+    public List<Member> findAllById(Collection<Long> ids) {
+        return em.createQuery("select m from Member m where m.id in :ids", Member.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * 회원 이름 색인 생성용 - 엔티티 대신 id, 이름만 커서로 읽는다. (트랜잭션 안에서 호출)
+     */
+    public void streamNames(int fetchSize, BiConsumer<Long, String> consumer) {
+        try (Stream<Object[]> rows = em.unwrap(Session.class)
+                .createQuery("select m.id, m.name from Member m", Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .stream()) {
+            rows.forEach(row -> consumer.accept((Long) row[0], (String) row[1]));
+        }
+    }
+
+    /**
+     * 이름 존재 여부 - 엔티티를 로딩하지 않고 name 유니크 인덱스만 확인한다.
+     */
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * names 중 이미 존재하는 이름
+     */
+    public List<String> findExistingNames(List<String> names) {
+        List<String> existingNames = new ArrayList<>();
+        for (List<String> partition : InQueryPartitions.partition(names, NAME_IN_PARTITION_SIZE)) {
+            existingNames.addAll(em.createQuery("select m.name from Member m where m.name in :names", String.class)
+                    .setParameter("names", partition)
+                    .getResultList());
+        }
+        return existingNames;
+    }
 }
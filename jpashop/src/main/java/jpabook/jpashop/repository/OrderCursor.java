@@ -0,0 +1,44 @@
+package jpabook.jpashop.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주문 keyset 페이징 커서
+ * (orderDate, id) 를 기준으로 마지막으로 조회한 위치를 기억한다.
+ * 클라이언트에는 내부 구조를 알 수 없는 토큰(Base64)으로 전달한다.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    private static final String DELIMITER = "|";
+
+    private LocalDateTime orderDate;
+    private Long id;
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    public String encode() {
+        String raw = orderDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, index)), Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("잘못된 커서입니다.", e);
+        }
+    }
+}
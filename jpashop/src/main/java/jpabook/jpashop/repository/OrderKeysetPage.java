@@ -0,0 +1,18 @@
+package jpabook.jpashop.repository;
+
+import java.util.List;
+import jpabook.jpashop.domain.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * keyset 페이징 조회 결과
+ * 다음 페이지가 없으면 nextCursor 는 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderKeysetPage {
+
+    private List<Order> orders;
+    private String nextCursor;
+}
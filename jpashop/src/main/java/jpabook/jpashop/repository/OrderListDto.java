@@ -0,0 +1,33 @@
+package jpabook.jpashop.repository;
+
+import java.time.LocalDateTime;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+/**
+ * 주문 목록 화면용 (대표상품 = 주문상품 중 첫 번째)
+ */
+@Data
+public class OrderListDto {
+
+    private Long orderId;
+    private String memberName;
+    private String itemName; // 대표상품 이름
+    private int orderPrice; // 대표상품 주문가격
+    private int count; // 대표상품 주문수량
+    private Integer totalPrice; // 전체 주문가격 (backfill 이전 주문은 null)
+    private OrderStatus orderStatus;
+    private LocalDateTime orderDate;
+
+    public OrderListDto(Long orderId, String memberName, String itemName, int orderPrice, int count, Integer totalPrice,
+            OrderStatus orderStatus, LocalDateTime orderDate) {
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.itemName = itemName;
+        this.orderPrice = orderPrice;
+        this.count = count;
+        this.totalPrice = totalPrice;
+        this.orderStatus = orderStatus;
+        this.orderDate = orderDate;
+    }
+}
@@ -1,17 +1,61 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Repository;
 
-@RequiredArgsConstructor
 @Repository
 public class OrderQueryRepository {
 
+    public static final int DEFAULT_IN_PARTITION_SIZE = 1000; // in 절 파라미터 최대 개수
+
+    /**
+     * orderId 순으로 정렬된 OrderFlatDto -> OrderQueryDto 조립
+     */
+    public static final FlatRowAssembler<OrderFlatDto, OrderQueryDto> ORDER_FLAT_ASSEMBLER = new FlatRowAssembler<>(
+            OrderFlatDto::getOrderId,
+            row -> new OrderQueryDto(row.getOrderId(), row.getName(), row.getOrderDate(), row.getOrderStatus(),
+                    row.getAddress(), new ArrayList<>()),
+            (order, row) -> order.getOrderItems().add(new OrderItemQueryDto(row.getOrderId(), row.getItemName(),
+                    row.getOrderPrice(), row.getCount())));
+
+    private static final String FLAT_QUERY =
+            "select new jpabook.jpashop.repository.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)"
+                    + " from Order o"
+                    + " join o.member m"
+                    + " join o.delivery d"
+                    + " join o.orderItems oi"
+                    + " join oi.item i"
+                    + " order by o.id";
+
     private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final TaskExecutor taskExecutor;
+
+    /**
+     * 병렬 조회가 동시에 사용하는 별도 커넥션 수 (커넥션 풀의 절반)
+     * 요청 스레드가 커넥션을 가진 채로 분할 조회를 기다리므로, 제한이 없으면 풀이 고갈되어 서로 커넥션을 기다릴 수 있다.
+     */
+    private final Semaphore partitionConnections;
+
+    public OrderQueryRepository(EntityManager em, EntityManagerFactory emf, TaskExecutor taskExecutor,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.em = em;
+        this.emf = emf;
+        this.taskExecutor = taskExecutor;
+        this.partitionConnections = new Semaphore(Math.max(1, maximumPoolSize / 2));
+    }
 
     public List<OrderQueryDto> findOrderQueryDtos() {
         List<OrderQueryDto> result = findOrders();
@@ -29,24 +73,50 @@ public class OrderQueryRepository {
 
         List<Long> orderIds = toOrderIds(result);
 
-        // query 1번
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(orderIds);
+        // query 1번 (주문이 DEFAULT_IN_PARTITION_SIZE 를 넘으면 분할 조회)
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(orderIds, DEFAULT_IN_PARTITION_SIZE, false);
+
+        result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
+        return result;
+    }
+
+    /**
+     * V5 와 동일하지만 in 쿼리 분할 크기와 병렬 조회 여부를 지정한다.
+     * parallel 이면 분할된 쿼리를 각각 별도의 커넥션(EntityManager)에서 동시에 실행한다.
+     * 별도 커넥션 수가 제한(partitionConnections)에 걸리면 나머지 분할은 현재 EntityManager 에서 순서대로 조회한다.
+     * 별도 커넥션에서 조회하므로 현재 트랜잭션에서 아직 커밋되지 않은 변경은 보이지 않는다.
+     */
+    public List<OrderQueryDto> findAllByDto_partition(int partitionSize, boolean parallel) {
+        List<OrderQueryDto> result = findOrders();
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result), partitionSize, parallel);
 
         result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
         return result;
     }
 
+    /**
+     * orderId 순으로 정렬해서 조회한다. (ORDER_FLAT_ASSEMBLER 로 조립 가능)
+     */
     public List<OrderFlatDto> findAllByDto_flat() {
-        return em.createQuery(
-                        "select new jpabook.jpashop.repository.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)"
-                                + " from Order o"
-                                + " join o.member m"
-                                + " join o.delivery d"
-                                + " join o.orderItems oi"
-                                + " join oi.item i", OrderFlatDto.class)
+        return em.createQuery(FLAT_QUERY, OrderFlatDto.class)
                 .getResultList();
     }
 
+    /**
+     * 플랫 데이터를 forward-only 커서로 조회
+     * fetchSize 만큼씩만 DB 에서 가져오고, orderId 순으로 정렬된 row 를 주문 단위로 묶어서 바로 consumer 에 넘긴다.
+     * 전체 결과를 메모리에 올리지 않으므로 주문 수와 상관없이 힙 사용량이 일정하다.
+     */
+    public void streamAllByDto_flat(int fetchSize, Consumer<OrderQueryDto> consumer) {
+        try (Stream<OrderFlatDto> rows = em.unwrap(Session.class).createQuery(FLAT_QUERY, OrderFlatDto.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .stream()) {
+            ORDER_FLAT_ASSEMBLER.assemble(rows.iterator(), consumer);
+        }
+    }
+
     private List<OrderQueryDto> findOrders() {
         return em.createQuery(
                         "select new jpabook.jpashop.repository.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address)"
@@ -72,16 +142,55 @@ public class OrderQueryRepository {
                 .toList();
     }
 
-    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
-        List<OrderItemQueryDto> orderItems = em.createQuery(
+    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds, int partitionSize,
+            boolean parallel) {
+        List<List<Long>> partitions = InQueryPartitions.partition(orderIds, partitionSize);
+
+        List<OrderItemQueryDto> orderItems;
+        if (parallel && partitions.size() > 1) {
+            List<CompletableFuture<List<OrderItemQueryDto>>> futures = partitions.stream()
+                    .map(partition -> partitionConnections.tryAcquire()
+                            ? CompletableFuture.supplyAsync(() -> findOrderItemsInNewEntityManager(partition),
+                            taskExecutor)
+                            : CompletableFuture.completedFuture(findOrderItems(em, partition)))
+                    .toList();
+
+            orderItems = futures.stream()
+                    .flatMap(future -> future.join().stream())
+                    .toList();
+        } else {
+            orderItems = partitions.stream()
+                    .flatMap(partition -> findOrderItems(em, partition).stream())
+                    .toList();
+        }
+
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+    }
+
+    /**
+     * partitionConnections 허가를 받은 뒤에 호출 - 조회가 끝나면 허가를 반납한다.
+     */
+    private List<OrderItemQueryDto> findOrderItemsInNewEntityManager(List<Long> orderIds) {
+        try {
+            EntityManager partitionEm = emf.createEntityManager();
+            try {
+                return findOrderItems(partitionEm, orderIds);
+            } finally {
+                partitionEm.close();
+            }
+        } finally {
+            partitionConnections.release();
+        }
+    }
+
+    private List<OrderItemQueryDto> findOrderItems(EntityManager entityManager, List<Long> orderIds) {
+        return entityManager.createQuery(
                         "select new jpabook.jpashop.repository.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)"
                                 + " from OrderItem oi"
                                 + " join oi.item i"
                                 + " where oi.order.id in :orderIds", OrderItemQueryDto.class)
                 .setParameter("orderIds", orderIds)
                 .getResultList();
-
-        return orderItems.stream()
-                .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
     }
 }
@@ -2,17 +2,18 @@ package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import jpabook.jpashop.domain.Member;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import jpabook.jpashop.domain.Order;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -20,6 +21,19 @@ import org.springframework.util.StringUtils;
 @Repository
 public class OrderRepository {
 
+    private static final String ORDER_SELECT = "select o from Order o join o.member m";
+    private static final String ORDER_COUNT_SELECT = "select count(o) from Order o join o.member m";
+    private static final String ORDER_LIST_SELECT =
+            "select new jpabook.jpashop.repository.OrderListDto(o.id, m.name, i.name, oi.orderPrice, oi.count, o.totalPrice, o.status, o.orderDate)"
+                    + " from Order o"
+                    + " join o.member m"
+                    + " join o.orderItems oi"
+                    + " join oi.item i";
+    private static final String REPRESENTATIVE_ORDER_ITEM =
+            "oi.id = (select min(oi2.id) from OrderItem oi2 where oi2.order = o)"; // 대표상품 - 주문마다 한 row
+
+    private static final Map<String, String> CRITERIA_QUERIES = new ConcurrentHashMap<>(); // 검색 조건 조합 -> JPQL
+
     private final EntityManager em;
 
     public void save(Order order) {
@@ -41,28 +55,102 @@ public class OrderRepository {
     }
 
     public List<Order> findAllByCriteria(OrderSearch orderSearch) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<Order> cq = cb.createQuery(Order.class);
-        Root<Order> o = cq.from(Order.class);
-        Join<Order, Member> m = o.join("member", JoinType.INNER);
+        return findAllByCriteria(orderSearch, null);
+    }
+
+    /**
+     * 주문 검색 (동적 쿼리)
+     * memberIds - 회원 이름 색인(MemberNameIndex)에서 찾은 회원 id, null 이면 회원 이름을 like '%이름%' 로 검색한다.
+     */
+    public List<Order> findAllByCriteria(OrderSearch orderSearch, Collection<Long> memberIds) {
+        if (memberIds != null && memberIds.isEmpty()) {
+            return List.of(); // 이름이 일치하는 회원이 없음
+        }
 
-        List<Predicate> criteria = new ArrayList<>();
+        return criteriaQuery(ORDER_SELECT, null, null, Order.class, orderSearch, memberIds)
+                .setMaxResults(1000) // 최대 1000 건
+                .getResultList();
+    }
 
-        //주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            Predicate status = cb.equal(o.get("status"), orderSearch.getOrderStatus());
-            criteria.add(status);
+    /**
+     * 주문 목록 화면 - 주문, 회원, 대표상품을 DTO 로 바로 조회한다. (페이지 크기와 상관없이 목록 1번 + count 1번)
+     * count 는 마지막 페이지처럼 전체 건수를 알 수 있으면 생략한다.
+     */
+    public Page<OrderListDto> findListDtos(OrderSearch orderSearch, Collection<Long> memberIds, Pageable pageable) {
+        if (memberIds != null && memberIds.isEmpty()) {
+            return Page.empty(pageable);
         }
 
-        //회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            Predicate name = cb.like(m.get("name"), "%" + orderSearch.getMemberName() + "%");
-            criteria.add(name);
+        List<OrderListDto> content = criteriaQuery(ORDER_LIST_SELECT, REPRESENTATIVE_ORDER_ITEM, " order by o.id desc",
+                OrderListDto.class, orderSearch, memberIds)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> criteriaQuery(ORDER_COUNT_SELECT, null, null, Long.class, orderSearch, memberIds)
+                        .getSingleResult());
+    }
+
+    /**
+     * 검색 조건 조합마다 JPQL 을 한 번만 만들어서 재사용한다. (같은 JPQL 은 하이버네이트 쿼리 플랜 캐시를 사용)
+     */
+    private <T> TypedQuery<T> criteriaQuery(String select, String fixedCriteria, String orderBy, Class<T> resultType,
+            OrderSearch orderSearch, Collection<Long> memberIds) {
+        boolean hasStatus = orderSearch.getOrderStatus() != null;
+        boolean hasMemberIds = memberIds != null;
+        boolean hasMemberName = !hasMemberIds && StringUtils.hasText(orderSearch.getMemberName());
+
+        int shape = (hasStatus ? 1 : 0) | (hasMemberIds ? 2 : 0) | (hasMemberName ? 4 : 0);
+        String jpql = CRITERIA_QUERIES.computeIfAbsent(shape + select + orderBy, key -> {
+            List<String> criteria = new ArrayList<>();
+            if (fixedCriteria != null) {
+                criteria.add(fixedCriteria);
+            }
+
+            //주문 상태 검색
+            if (hasStatus) {
+                criteria.add("o.status = :status");
+            }
+
+            //회원 이름 검색
+            if (hasMemberIds) {
+                criteria.add("m.id in :memberIds");
+            }
+            if (hasMemberName) {
+                // 회원 이름 색인(NgramIndex)과 같은 기준 - 대소문자, 공백, 하이픈 무시 (일치하는 회원 수와 상관없이 같은 결과)
+                criteria.add("replace(replace(lower(m.name), ' ', ''), '-', '') like :name");
+            }
+
+            String where = criteria.isEmpty() ? "" : " where " + String.join(" and ", criteria);
+            return select + where + (orderBy == null ? "" : orderBy);
+        });
+
+        TypedQuery<T> query = em.createQuery(jpql, resultType);
+        if (hasStatus) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if (hasMemberIds) {
+            query.setParameter("memberIds", padMemberIds(memberIds)); // id 개수가 달라도 같은 SQL 재사용
         }
+        if (hasMemberName) {
+            query.setParameter("name", "%" + normalizeName(orderSearch.getMemberName()) + "%");
+        }
+        return query;
+    }
 
-        cq.where(cb.and(criteria.toArray(new Predicate[criteria.size()])));
-        TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000);
-        return query.getResultList();
+    /**
+     * in 절 길이를 2의 거듭제곱으로 맞춘다. (InQueryPartitions)
+     * 회원 이름 색인은 MAX_MEMBER_IDS(1000) 개까지만 넘기므로 보통 한 조각이다.
+     */
+    private static List<Long> padMemberIds(Collection<Long> memberIds) {
+        List<List<Long>> partitions = InQueryPartitions.partition(List.copyOf(memberIds),
+                OrderQueryRepository.DEFAULT_IN_PARTITION_SIZE);
+        return partitions.size() == 1 ? partitions.get(0) : List.copyOf(memberIds);
+    }
+
+    private static String normalizeName(String name) {
+        return name.replace(" ", "").replace("-", "").toLowerCase(Locale.ROOT);
     }
 
     public List<Order> findAllWithMemberDelivery() {
@@ -89,4 +177,82 @@ public class OrderRepository {
                 .setMaxResults(limit)
                 .getResultList();
     }
+
+    /**
+     * keyset(seek) 페이징
+     * offset 대신 마지막으로 조회한 (orderDate, id) 이후부터 조회하므로 페이지가 깊어져도 건너뛰는 row 가 없다.
+     * limit + 1 건을 조회해서 다음 페이지 존재 여부를 판단한다.
+     */
+    public OrderKeysetPage findAllWithMemberDeliveryAfter(OrderCursor cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 은 1 이상이어야 합니다. limit=" + limit);
+        }
+
+        TypedQuery<Order> query;
+        if (cursor == null) {
+            query = em.createQuery("select o from Order o"
+                    + " join fetch o.member m"
+                    + " join fetch o.delivery d"
+                    + " order by o.orderDate, o.id", Order.class);
+        } else {
+            query = em.createQuery("select o from Order o"
+                            + " join fetch o.member m"
+                            + " join fetch o.delivery d"
+                            + " where o.orderDate > :orderDate"
+                            + " or (o.orderDate = :orderDate and o.id > :id)"
+                            + " order by o.orderDate, o.id", Order.class)
+                    .setParameter("orderDate", cursor.getOrderDate())
+                    .setParameter("id", cursor.getId());
+        }
+
+        List<Order> orders = query
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        if (orders.size() <= limit) {
+            return new OrderKeysetPage(orders, null);
+        }
+
+        List<Order> page = orders.subList(0, limit);
+        return new OrderKeysetPage(page, OrderCursor.of(page.get(limit - 1)).encode());
+    }
+
+    /**
+     * 주문별 전체 주문 가격을 주문상품에서 집계 (orderId -> 합계)
+     * 주문 엔티티와 주문상품을 로딩하지 않고 DB 에서 sum(주문 가격 * 수량)으로 계산한다. (totalPrice 저장 이전 주문 확인용)
+     */
+    public Map<Long, Integer> findTotalPrices(List<Long> orderIds) {
+        Map<Long, Integer> totalPrices = new HashMap<>();
+        for (List<Long> partition : InQueryPartitions.partition(orderIds, OrderQueryRepository.DEFAULT_IN_PARTITION_SIZE)) {
+            em.createQuery("select oi.order.id, sum(oi.orderPrice * oi.count)"
+                            + " from OrderItem oi"
+                            + " where oi.order.id in :orderIds"
+                            + " group by oi.order.id", Object[].class)
+                    .setParameter("orderIds", partition)
+                    .getResultList()
+                    .forEach(row -> totalPrices.put((Long) row[0], ((Number) row[1]).intValue()));
+        }
+        return totalPrices;
+    }
+
+    /**
+     * totalPrice 가 저장되지 않은(null) 주문의 totalPrice 를 주문상품 합계로 채운다. - update 한 번으로 처리
+     */
+    public int backfillTotalPrices() {
+        return em.createQuery("update Order o"
+                        + " set o.totalPrice = (select coalesce(sum(oi.orderPrice * oi.count), 0)"
+                        + " from OrderItem oi where oi.order = o)"
+                        + " where o.totalPrice is null")
+                .executeUpdate();
+    }
+
+    /**
+     * 대량 저장 시 청크마다 호출
+     * flush 시점에 insert 가 테이블별로 모여서 JDBC batch 로 실행된다. (hibernate.jdbc.batch_size, order_inserts)
+     * clear 로 영속성 컨텍스트가 계속 커지는 것을 막는다.
+     */
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
 }
@@ -0,0 +1,77 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class OrderSummaryRepository {
+
+    private final EntityManager em;
+
+    public void save(OrderSummary orderSummary) {
+        em.persist(orderSummary);
+    }
+
+    public OrderSummary findOne(Long orderId) {
+        return em.find(OrderSummary.class, orderId);
+    }
+
+    /**
+     * 주문의 현재 주문 상태, 배송 상태를 반영
+     * 요약이 없는 주문(요약 테이블 도입 전에 저장된 주문 등)은 요약을 새로 만든다.
+     */
+    public void sync(Order order) {
+        OrderSummary orderSummary = findOne(order.getId());
+        if (orderSummary == null) {
+            save(OrderSummary.createOrderSummary(order));
+            return;
+        }
+
+        orderSummary.setOrderStatus(order.getStatus());
+        orderSummary.setDeliveryStatus(order.getDelivery().getStatus());
+    }
+
+    /**
+     * 조인 없이 order_summary 만 (orderDate, order_id) 인덱스 순서로 조회
+     */
+    public List<OrderSimpleQueryDto> findOrderDtos(int offset, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.OrderSimpleQueryDto(s.orderId, s.memberName, s.orderDate, s.orderStatus, s.address)"
+                                + " from OrderSummary s"
+                                + " order by s.orderDate desc, s.orderId desc", OrderSimpleQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 요약이 없는 주문(요약 테이블 도입 이전 주문)의 요약을 주문, 회원, 배송에서 만든다. - insert select 한 번으로 처리
+     */
+    public int backfill() {
+        return em.createNativeQuery("insert into order_summary"
+                        + " (order_id, member_id, member_name, order_date, order_status, delivery_status, city, street, zipcode)"
+                        + " select o.order_id, m.member_id, m.name, o.order_date, o.status, d.status, d.city, d.street, d.zipcode"
+                        + " from orders o"
+                        + " join member m on m.member_id = o.member_id"
+                        + " join delivery d on d.delivery_id = o.delivery_id"
+                        + " where not exists (select 1 from order_summary s where s.order_id = o.order_id)")
+                .executeUpdate();
+    }
+
+    /**
+     * 회원 이름 변경 - 회원의 주문 수만큼 row 가 변경되므로 벌크 update 로 처리한다.
+     */
+    public int updateMemberName(Long memberId, String memberName) {
+        return em.createQuery("update OrderSummary s"
+                        + " set s.memberName = :memberName"
+                        + " where s.memberId = :memberId")
+                .setParameter("memberName", memberName)
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+    }
+}
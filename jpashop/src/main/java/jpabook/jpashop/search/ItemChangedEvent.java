@@ -0,0 +1,15 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.repository.ItemSearchDocument;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 저장/수정 이벤트 - 커밋 이후에 검색 색인에 반영된다. (ItemSearchIndex)
+ */
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+
+    private ItemSearchDocument document;
+}
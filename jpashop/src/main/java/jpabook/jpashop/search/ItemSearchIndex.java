@@ -0,0 +1,57 @@
+package jpabook.jpashop.search;
+
+import java.util.Arrays;
+import java.util.List;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSearchDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 상품 검색 색인 (상품 이름 > 도서 저자 > ISBN 순으로 랭킹)
+ * 애플리케이션 시작 시 전체 상품으로 만들고, saveItem, updateItem 이 커밋된 이후에 변경분을 반영한다.
+ * 롤백된 변경은 반영되지 않는다. (TransactionalEventListener - AFTER_COMMIT)
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final int GRAM_SIZE = 2; // 한글 두 글자 검색어도 색인을 사용하도록 bigram
+    private static final int FETCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final NgramIndex index = new NgramIndex(GRAM_SIZE);
+
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.clear();
+        itemRepository.streamSearchDocuments(FETCH_SIZE, this::put);
+        log.info("상품 검색 색인 생성 - {}건, {}ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        put(event.getDocument());
+    }
+
+    /**
+     * 검색어를 포함하는 상품 id (랭킹 순)
+     */
+    public List<Long> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private void put(ItemSearchDocument document) {
+        index.put(document.getItemId(), Arrays.asList(document.getName(), document.getAuthor(), document.getIsbn()));
+    }
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 가입/이름 변경 이벤트 - 커밋 이후에 회원 이름 색인에 반영된다. (MemberNameIndex)
+ */
+@Getter
+@AllArgsConstructor
+public class MemberChangedEvent {
+
+    private Long memberId;
+    private String name;
+}
@@ -0,0 +1,63 @@
+package jpabook.jpashop.search;
+
+import java.util.List;
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 회원 이름 부분 일치 색인 (주문 검색의 회원 이름 조건)
+ * like '%이름%' 는 인덱스를 사용할 수 없어서 회원 전체를 읽으므로, 색인에서 회원 id 를 먼저 찾아 주문 쿼리에 id 조건으로 넘긴다.
+ * 애플리케이션 시작 시 전체 회원으로 만들고, 회원 가입/이름 변경이 커밋된 이후에 변경분을 반영한다.
+ */
+@Slf4j
+@Component
+public class MemberNameIndex {
+
+    public static final int MAX_MEMBER_IDS = 1000; // 이보다 많이 일치하면 id 조건 대신 like 검색
+    private static final int GRAM_SIZE = 2;
+    private static final int FETCH_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final NgramIndex index = new NgramIndex(GRAM_SIZE);
+
+    public MemberNameIndex(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.clear();
+        memberRepository.streamNames(FETCH_SIZE, this::put);
+        log.info("회원 이름 색인 생성 - {}건, {}ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        put(event.getMemberId(), event.getName());
+    }
+
+    /**
+     * 이름에 name 을 포함하는 회원 id
+     * 검색하지 않는 경우(이름이 비어있음)나 일치하는 회원이 MAX_MEMBER_IDS 보다 많은 경우 null (like 검색)
+     */
+    public List<Long> findMemberIds(String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+
+        List<Long> memberIds = index.search(name, MAX_MEMBER_IDS + 1);
+        return memberIds.size() > MAX_MEMBER_IDS ? null : memberIds;
+    }
+
+    private void put(Long memberId, String name) {
+        index.put(memberId, List.of(name == null ? "" : name));
+    }
+}
@@ -0,0 +1,160 @@
+package jpabook.jpashop.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 n-gram 역색인 (부분 문자열 검색)
+ * 문서(id)마다 필드 값 여러 개를 색인하고, 검색어의 n-gram 을 모두 포함하는 문서만 후보로 골라서 실제 포함 여부를 확인한다.
+ * like '%검색어%' 처럼 전체 row 를 읽지 않고, 가장 짧은 posting 목록부터 교집합을 구한다.
+ * 랭킹 - 앞쪽 필드일수록, 완전 일치 > 앞부분 일치 > 부분 일치 순으로 점수가 높다. (같은 점수는 id 순)
+ * 색인 변경은 직렬화하고, 검색은 락 없이 동시에 실행된다.
+ */
+public class NgramIndex {
+
+    private final int gramSize;
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, List<String>> documents = new ConcurrentHashMap<>(); // id -> 정규화된 필드 값
+
+    public NgramIndex(int gramSize) {
+        this.gramSize = gramSize;
+    }
+
+    /**
+     * 문서 추가/변경 (fields 는 랭킹 가중치 순, null 은 무시)
+     */
+    public synchronized void put(Long id, List<String> fields) {
+        remove(id);
+
+        List<String> normalized = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            normalized.add(field == null ? "" : normalize(field));
+        }
+        documents.put(id, List.copyOf(normalized));
+
+        for (String field : normalized) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        List<String> fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 검색어를 포함하는 문서 id (랭킹 순, 최대 limit 개)
+     */
+    public List<Long> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> hits = new ArrayList<>();
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Long id : candidates(normalizedQuery)) {
+            List<String> fields = documents.get(id);
+            int score = fields == null ? 0 : score(fields, normalizedQuery);
+            if (score > 0) { // n-gram 이 모두 있어도 연속된 문자열이 아닐 수 있다.
+                hits.add(id);
+                scores.put(id, score);
+            }
+        }
+
+        hits.sort(Comparator.<Long>comparingInt(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < gramSize) {
+            return documents.keySet(); // n 보다 짧은 검색어는 색인을 쓸 수 없으므로 메모리의 문서 전체를 확인
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static int score(List<String> fields, String query) {
+        int best = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            int weight = fields.size() - i;
+            if (field.equals(query)) {
+                best = Math.max(best, weight * 3);
+            } else if (field.startsWith(query)) {
+                best = Math.max(best, weight * 2);
+            } else if (field.contains(query)) {
+                best = Math.max(best, weight);
+            }
+        }
+        return best;
+    }
+
+    private Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + gramSize <= value.length(); i++) {
+            grams.add(value.substring(i, i + gramSize));
+        }
+        return grams;
+    }
+
+    /**
+     * 대소문자, 공백, 하이픈(ISBN) 무시
+     */
+    static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c) && c != '-') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
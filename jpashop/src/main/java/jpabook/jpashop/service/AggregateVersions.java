@@ -0,0 +1,66 @@
+package jpabook.jpashop.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 애그리거트별 변경 버전 (메모리)
+ * 조회 API 의 ETag 를 DB 조회 없이 만들기 위해 사용한다. - 변경이 없으면 If-None-Match 로 304 응답
+ * 버전은 커밋 이후에 올린다. (커밋 전에 올리면 변경 전 데이터가 새 ETag 로 캐시될 수 있다.)
+ * 애플리케이션마다 시작할 때 epoch 가 바뀌므로 재시작 전의 ETag 는 일치하지 않는다.
+ * 서버가 여러 대면 다른 서버의 변경은 반영되지 않으므로 단일 인스턴스 기준이다.
+ */
+@Component
+public class AggregateVersions {
+
+    public enum Aggregate {
+        ORDER, // 주문, 주문상품, 배송
+        MEMBER,
+        ITEM
+    }
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Aggregate, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 변경 표시 - 트랜잭션 안이면 커밋 이후에, 아니면 바로 버전을 올린다.
+     */
+    public void changed(Aggregate aggregate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(aggregate);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(aggregate);
+            }
+        });
+    }
+
+    public long version(Aggregate aggregate) {
+        AtomicLong version = versions.get(aggregate);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * 조회 결과가 의존하는 애그리거트들의 버전으로 만든 ETag
+     */
+    public String etag(Aggregate... aggregates) {
+        return epoch + "-" + Arrays.stream(aggregates)
+                .map(aggregate -> String.valueOf(version(aggregate)))
+                .collect(Collectors.joining("."));
+    }
+
+    private void increment(Aggregate aggregate) {
+        versions.computeIfAbsent(aggregate, key -> new AtomicLong()).incrementAndGet();
+    }
+}
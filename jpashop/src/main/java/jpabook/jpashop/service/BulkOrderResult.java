@@ -0,0 +1,21 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 주문 결과
+ * rows 는 insert 된 row 수 (주문 + 배송 + 주문상품)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkOrderResult {
+
+    private int orders;
+    private long rows;
+    private long elapsedMillis;
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows * 1000 : rows * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 캐시되는 카테고리 트리의 노드 (엔티티 대신 캐시에 저장)
+ */
+@Getter
+public class CategoryNode {
+
+    private final Long id;
+    private final String name;
+    private final int depth;
+    private final List<CategoryNode> children = new ArrayList<>();
+
+    public CategoryNode(Long id, String name, int depth) {
+        this.id = id;
+        this.name = name;
+        this.depth = depth;
+    }
+
+    public List<CategoryNode> getChildren() {
+        return List.copyOf(children);
+    }
+
+    void addChild(CategoryNode child) {
+        children.add(child);
+    }
+}
@@ -0,0 +1,117 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jpabook.jpashop.config.CacheConfig;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * 카테고리 생성 (parentId 가 null 이면 루트)
+     */
+    @Transactional
+    public Long saveCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            findCategory(parentId).addChildCategory(category);
+        }
+
+        categoryRepository.save(category);
+        return category.getId();
+    }
+
+    /**
+     * 카테고리 이동 - 하위 카테고리들의 path 도 함께 변경한다.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_TREE, allEntries = true) // 하위 카테고리는 벌크 update 로 변경
+    public void moveCategory(Long categoryId, Long parentId) {
+        Category category = findCategory(categoryId);
+        Category parent = findCategory(parentId);
+        if (category.contains(parent)) {
+            throw new IllegalArgumentException("하위 카테고리로 이동할 수 없습니다.");
+        }
+
+        String oldSubtreePath = category.getSubtreePath();
+        int oldDepth = category.getDepth();
+        parent.addChildCategory(category);
+
+        categoryRepository.updateSubtreePath(oldSubtreePath, category.getSubtreePath(),
+                category.getDepth() - oldDepth);
+    }
+
+    /**
+     * 카테고리 전체 트리 (루트 목록)
+     * 쿼리 한 번으로 전체를 읽어서 메모리에서 트리를 만들고 캐시한다.
+     * 카테고리가 변경되면 CategoryCacheListener 가 캐시를 비운다.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_TREE, key = "'all'", sync = true)
+    public List<CategoryNode> findTree() {
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+
+        for (Category category : categoryRepository.findAll()) { // depth 순 - 상위 노드가 먼저 만들어진다.
+            CategoryNode node = new CategoryNode(category.getId(), category.getName(), category.getDepth());
+            nodes.put(node.getId(), node);
+
+            CategoryNode parent = nodes.get(parentId(category));
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.addChild(node);
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * 하위 트리 전체(자기 자신 포함)와 카테고리별 상품 - 쿼리 한 번
+     */
+    public List<Category> findSubtree(Long categoryId) {
+        return categoryRepository.findSubtreeWithItems(categoryId);
+    }
+
+    /**
+     * 하위 트리 전체(자기 자신 포함)의 상품 - 카테고리 단계 수와 상관없이 쿼리 한 번
+     */
+    public List<Item> findItems(Long categoryId) {
+        return categoryRepository.findItemsInSubtree(categoryId);
+    }
+
+    private Category findCategory(Long categoryId) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("카테고리가 존재하지 않습니다. id=" + categoryId);
+        }
+        return category;
+    }
+
+    /**
+     * path 의 마지막 id 가 상위 카테고리 (parent 프록시를 초기화하지 않는다.)
+     */
+    private static Long parentId(Category category) {
+        String path = category.getPath();
+        if (Category.ROOT_PATH.equals(path)) {
+            return null;
+        }
+        int start = path.lastIndexOf('/', path.length() - 2) + 1;
+        return Long.valueOf(path.substring(start, path.length() - 1));
+    }
+}
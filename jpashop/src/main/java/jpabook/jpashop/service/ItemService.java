@@ -1,9 +1,23 @@
 package jpabook.jpashop.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jpabook.jpashop.config.CacheConfig;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListDto;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSearchDocument;
+import jpabook.jpashop.search.ItemChangedEvent;
+import jpabook.jpashop.search.ItemSearchIndex;
+import jpabook.jpashop.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,26 +27,76 @@ import org.springframework.transaction.annotation.Transactional;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AggregateVersions aggregateVersions;
 
     @Transactional
     public void saveItem(Item item) {
+        aggregateVersions.changed(Aggregate.ITEM);
         itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(ItemSearchDocument.from(item))); // 커밋 이후 검색 색인 반영
     }
 
     @Transactional
     public void updateItem(Long itemId, String name, int price, int stockQuantity) {
+        aggregateVersions.changed(Aggregate.ITEM);
         Item findItem = itemRepository.findOne(itemId);
         // findItem.change(name, price, stockQuantity); - 이렇게 엔티티에 비즈니스 로직을 넣는 것이 좋다.
         findItem.setName(name);
         findItem.setPrice(price);
         findItem.setStockQuantity(stockQuantity);
+        eventPublisher.publishEvent(new ItemChangedEvent(ItemSearchDocument.from(findItem)));
     }
 
-    public List<Item> findItems() {
-        return itemRepository.findAll();
+    /**
+     * 상품 목록은 캐시에서 조회한다.
+     * 상품이 변경되면 ItemCacheListener 가 캐시를 비운다.
+     * 엔티티 대신 트랜잭션 안에서 만든 변경할 수 없는 DTO 를 캐시한다.
+     */
+    @Cacheable(cacheNames = CacheConfig.ITEM_CATALOG, key = "'all'", sync = true)
+    public List<ItemListDto> findItems() {
+        return List.copyOf(itemRepository.findAllListDtos());
     }
 
+    /**
+     * 상품 목록 화면 (페이징)
+     */
+    public Page<ItemListDto> findItemPage(Pageable pageable) {
+        return itemRepository.findListDtos(pageable);
+    }
+
+    /**
+     * 상품 조회 (캐시) - findItems 와 같은 이유로 DTO 를 캐시한다.
+     */
+    @Cacheable(cacheNames = CacheConfig.ITEM, key = "#itemId", sync = true)
+    public ItemListDto findItem(Long itemId) {
+        Item item = itemRepository.findOne(itemId);
+        return item == null ? null : ItemListDto.from(item);
+    }
+
+    /**
+     * 상품 엔티티 조회 (수정 화면 등) - 캐시하지 않는다.
+     */
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
+
+    /**
+     * 상품 검색 - 메모리 색인에서 랭킹 순으로 id 를 찾고, 상품은 in 쿼리 한 번으로 조회한다.
+     */
+    public List<Item> search(String query, int limit) {
+        List<Long> ids = itemSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull) // 색인 이후 삭제된 상품
+                .toList();
+    }
 }
@@ -0,0 +1,24 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 CSV import 결과 (진행 중에는 현재까지의 결과)
+ * rows 는 읽은 데이터 row 수 (헤더 제외), skipped 는 이미 가입된 이름이거나 파일 안에서 중복된 row,
+ * invalid 는 컬럼 수가 맞지 않거나 이름이 없는 row
+ */
+@Getter
+@AllArgsConstructor
+public class MemberImportResult {
+
+    private long rows;
+    private long imported;
+    private long skipped;
+    private long invalid;
+    private long elapsedMillis;
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows * 1000 : rows * 1000 / elapsedMillis;
+    }
+}
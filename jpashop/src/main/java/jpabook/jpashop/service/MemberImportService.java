@@ -0,0 +1,137 @@
+package jpabook.jpashop.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 회원 CSV import (name,city,street,zipcode)
+ * 파일 전체를 메모리에 올리지 않고 한 줄씩 읽으면서 chunk-size 건마다 MemberService.importChunk 로 저장(커밋)한다.
+ * chunk 마다 영속성 컨텍스트가 비워지므로 파일 크기와 상관없이 메모리 사용량이 chunk-size 만큼으로 유지된다.
+ * 이미 가입된 이름은 건너뛰기 때문에 중간에 실패해도 같은 파일로 다시 import 하면 이어서 저장된다.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    private static final String BOM = "\uFEFF"; // 엑셀에서 저장한 UTF-8 CSV
+    private static final String HEADER_NAME = "name";
+    private static final int COLUMN_COUNT = 4;
+
+    private final MemberService memberService;
+    private final int chunkSize;
+
+    public MemberImportService(MemberService memberService,
+            @Value("${jpashop.member-import.chunk-size:1000}") int chunkSize) {
+        this.memberService = memberService;
+        this.chunkSize = chunkSize;
+    }
+
+    public MemberImportResult importCsv(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        long imported = 0;
+        long invalid = 0;
+        List<Member> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith(BOM)) {
+                line = line.substring(1);
+            }
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+
+            List<String> columns = parseLine(line);
+            if (lineNumber == 1 && HEADER_NAME.equalsIgnoreCase(columns.get(0).strip())) {
+                continue; // 헤더
+            }
+
+            rows++;
+            if (columns.size() != COLUMN_COUNT || !StringUtils.hasText(columns.get(0))) {
+                invalid++;
+                log.warn("회원 import {}번째 줄 형식 오류: {}", lineNumber, line);
+                continue;
+            }
+
+            chunk.add(createMember(columns));
+            if (chunk.size() == chunkSize) {
+                imported += memberService.importChunk(chunk);
+                chunk.clear();
+                logProgress(rows, imported, invalid, start);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            imported += memberService.importChunk(chunk);
+        }
+
+        MemberImportResult result = new MemberImportResult(rows, imported, rows - imported - invalid, invalid,
+                System.currentTimeMillis() - start);
+        log.info("회원 import 완료 - {} rows, 저장 {}, 건너뜀 {}, 형식 오류 {}, {}ms ({} rows/s)", result.getRows(),
+                result.getImported(), result.getSkipped(), result.getInvalid(), result.getElapsedMillis(),
+                result.getRowsPerSecond());
+        return result;
+    }
+
+    private void logProgress(long rows, long imported, long invalid, long start) {
+        MemberImportResult progress = new MemberImportResult(rows, imported, rows - imported - invalid, invalid,
+                System.currentTimeMillis() - start);
+        log.info("회원 import 진행 중 - {} rows, 저장 {}, {} rows/s", progress.getRows(), progress.getImported(),
+                progress.getRowsPerSecond());
+    }
+
+    private Member createMember(List<String> columns) {
+        Member member = new Member();
+        member.setName(columns.get(0).strip());
+        member.setAddress(new Address(columns.get(1).strip(), columns.get(2).strip(), columns.get(3).strip()));
+        return member;
+    }
+
+    /**
+     * 쉼표로 구분, 큰따옴표로 감싼 값 안의 쉼표와 "" (따옴표 escape) 를 처리한다. (줄바꿈이 포함된 값은 지원하지 않음)
+     */
+    static List<String> parseLine(String line) {
+        List<String> columns = new ArrayList<>(COLUMN_COUNT);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+
+        return columns;
+    }
+}
@@ -1,9 +1,22 @@
 package jpabook.jpashop.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.DuplicateMemberException;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.search.MemberChangedEvent;
+import jpabook.jpashop.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,12 +25,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class MemberService {
 
+    public static final int BULK_CHUNK_SIZE = 1000; // 대량 가입 시 flush, clear 단위
+
     /**
      * 필드 주입 - 테스트 코드 작성 시 변경이 어려움
      * setter 주입 - public 으로 열려있어 변경이 가능함
      * 생성자 주입 - 가장 권장하는 방법
      */
     private final MemberRepository memberRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AggregateVersions aggregateVersions;
 
     /**
      * 회원 가입
@@ -25,10 +43,72 @@ public class MemberService {
     @Transactional
     public Long join(Member member) {
         validateDuplicateMember(member); // 중복 회원 검증
-        memberRepository.save(member);
+        try {
+            memberRepository.saveAndFlush(member); // 검증 이후 동시에 같은 이름으로 가입된 경우 유니크 제약 조건 위반
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateMemberException(List.of(member.getName()), e);
+        }
+        eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getName())); // 커밋 이후 이름 색인 반영
         return member.getId();
     }
 
+    /**
+     * 대량 회원 가입
+     * 이름 중복(요청 안에서의 중복, 이미 가입된 이름)을 in 쿼리로 한 번에 확인하고, 중복이 있으면 아무도 가입시키지 않는다.
+     */
+    @Transactional
+    public List<Long> joinAll(List<Member> members) {
+        Set<String> names = new HashSet<>();
+        Set<String> duplicateNames = new LinkedHashSet<>();
+        for (Member member : members) {
+            if (!names.add(member.getName())) {
+                duplicateNames.add(member.getName());
+            }
+        }
+        duplicateNames.addAll(memberRepository.findExistingNames(new ArrayList<>(names)));
+        if (!duplicateNames.isEmpty()) {
+            throw new DuplicateMemberException(new ArrayList<>(duplicateNames));
+        }
+
+        List<Long> ids = new ArrayList<>(members.size());
+        try {
+            for (int i = 0; i < members.size(); i++) {
+                memberRepository.save(members.get(i));
+                ids.add(members.get(i).getId());
+                eventPublisher.publishEvent(new MemberChangedEvent(members.get(i).getId(), members.get(i).getName()));
+                if ((i + 1) % BULK_CHUNK_SIZE == 0) {
+                    memberRepository.flushAndClear();
+                }
+            }
+            memberRepository.flushAndClear();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateMemberException(List.of(), e); // 확인 이후 동시에 가입된 이름
+        }
+        return ids;
+    }
+
+    /**
+     * 회원 import chunk 저장 (MemberImportService)
+     * 이미 가입된 이름과 chunk 안에서 중복된 이름은 건너뛰고, 저장한 회원 수를 반환한다.
+     * chunk 마다 커밋하고 영속성 컨텍스트를 비운다.
+     */
+    @Transactional
+    public int importChunk(List<Member> members) {
+        Map<String, Member> membersByName = new LinkedHashMap<>();
+        for (Member member : members) {
+            membersByName.putIfAbsent(member.getName(), member);
+        }
+        memberRepository.findExistingNames(new ArrayList<>(membersByName.keySet()))
+                .forEach(membersByName::remove);
+
+        for (Member member : membersByName.values()) {
+            memberRepository.save(member);
+            eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getName()));
+        }
+        memberRepository.flushAndClear();
+        return membersByName.size();
+    }
+
     /**
      * 회원 전체 조회
      */
@@ -48,15 +128,20 @@ public class MemberService {
      */
     @Transactional
     public void update(Long id, String name) {
+        aggregateVersions.changed(Aggregate.MEMBER); // 주문 조회 API 에 회원 이름이 포함된다.
         Member member = memberRepository.findOne(id);
+        if (!Objects.equals(name, member.getName()) && memberRepository.existsByName(name)) {
+            throw new DuplicateMemberException(List.of(name));
+        }
         member.setName(name);
+        eventPublisher.publishEvent(new MemberChangedEvent(id, name));
+        orderSummaryRepository.updateMemberName(id, name); // 주문 목록 조회용 테이블의 회원 이름도 변경
     }
 
     private void validateDuplicateMember(Member member) {
-        // name 필드에 유니크 제약 조건을 걸어두는 것이 좋다. (동시에 같은 이름으로 가입하는 경우가 있을 수 있음)
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-        if (!findMembers.isEmpty()) {
-            throw new IllegalStateException("이미 존재하는 회원입니다.");
+        // 엔티티를 로딩하지 않고 존재 여부만 확인한다. 동시에 가입하는 경우는 name 유니크 제약 조건으로 막는다.
+        if (memberRepository.existsByName(member.getName())) {
+            throw new DuplicateMemberException(List.of(member.getName()));
         }
     }
 }
@@ -0,0 +1,16 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 주문 - 주문 1건 (회원 + 주문상품 여러 개)
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCommand {
+
+    private Long memberId;
+    private List<OrderLineCommand> lines;
+}
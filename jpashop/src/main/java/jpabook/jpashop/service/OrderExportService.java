@@ -0,0 +1,48 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import jpabook.jpashop.repository.OrderQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class OrderExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final OrderQueryRepository orderQueryRepository;
+
+    /**
+     * 전체 주문 export (NDJSON)
+     * 주문이 하나 완성될 때마다 한 줄씩 바로 출력한다. (출력 버퍼가 찰 때만 flush)
+     */
+    public long exportAll(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long[] count = {0};
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null); // 줄바꿈으로 직접 구분
+            orderQueryRepository.streamAllByDto_flat(FETCH_SIZE, order -> {
+                try {
+                    writer.writeValue(generator, order);
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        return count[0];
+    }
+}
@@ -0,0 +1,198 @@
+package jpabook.jpashop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import jpabook.jpashop.exception.OrderQueueFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문 접수 대기열 (jpashop.ingestion.enabled=true)
+ * 주문을 대기열에 넣고 바로 접수표(OrderTicket)를 반환한다.
+ * writer 스레드가 대기열에서 batch-size 건까지, 첫 주문 이후 linger 시간까지 모아서 트랜잭션 하나로 커밋한다. (group commit)
+ * 주문 1건마다 커밋하던 것을 batch 단위로 묶어서 커밋(fsync), 커넥션 획득 횟수를 줄인다.
+ * 대기열이 가득 차면 OrderQueueFullException 이 발생한다. (503)
+ */
+@Slf4j
+@Service
+public class OrderIngestionService implements SmartLifecycle {
+
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration linger;
+    private final BlockingQueue<OrderTicket> queue;
+    private final Cache<String, OrderTicket> tickets;
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock(); // 접수(확인 + 대기열 추가)와 종료 사이의 경쟁 방지
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionService(OrderService orderService,
+            @Value("${jpashop.ingestion.enabled:false}") boolean enabled,
+            @Value("${jpashop.ingestion.queue-capacity:10000}") int queueCapacity,
+            @Value("${jpashop.ingestion.batch-size:100}") int batchSize,
+            @Value("${jpashop.ingestion.linger:5ms}") Duration linger,
+            @Value("${jpashop.ingestion.ticket-ttl:10m}") Duration ticketTtl) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ticketTtl) // 처리 결과는 ticket-ttl 동안 조회할 수 있다.
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문 접수
+     */
+    public OrderTicket submit(OrderCommand command) {
+        OrderTicket ticket = new OrderTicket(command);
+        lifecycleLock.lock();
+        try {
+            // 확인과 대기열 추가 사이에 종료되면 writer 가 처리하지 않는 접수표가 남으므로 종료와 같은 락 안에서 처리한다.
+            if (!running) {
+                throw new IllegalStateException("주문 접수 대기열이 동작하지 않습니다. (jpashop.ingestion.enabled)");
+            }
+
+            tickets.put(ticket.getId(), ticket);
+            if (!queue.offer(ticket)) {
+                tickets.invalidate(ticket.getId());
+                throw new OrderQueueFullException("주문 접수 대기열이 가득 찼습니다.");
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+        return ticket;
+    }
+
+    /**
+     * 접수표 조회 (없거나 만료되면 null)
+     */
+    public OrderTicket findTicket(String ticketId) {
+        return tickets.getIfPresent(ticketId);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::drain, "order-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 대기열에 남은 주문까지 처리한 후 종료한다.
+     * 제한 시간 안에 처리하지 못하고 남은 접수표는 실패로 끝낸다. (조회하는 쪽이 계속 기다리지 않도록)
+     */
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+
+        lifecycleLock.lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.unlock();
+        }
+
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+
+        List<OrderTicket> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("주문 접수 대기열 종료 - 처리하지 못한 주문 {}건", remaining.size());
+            remaining.forEach(ticket -> ticket.fail("주문 접수 대기열이 종료되었습니다."));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<OrderTicket> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 첫 주문을 기다린 후, batch-size 가 찰 때까지 최대 linger 만큼 더 모은다.
+     */
+    private List<OrderTicket> nextBatch() throws InterruptedException {
+        List<OrderTicket> batch = new ArrayList<>(batchSize);
+        OrderTicket first = queue.poll(100, TimeUnit.MILLISECONDS); // 종료 여부를 확인하기 위해 무한정 기다리지 않는다.
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + linger.toNanos();
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            OrderTicket next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void process(List<OrderTicket> batch) {
+        try {
+            List<OrderResult> results = orderService.orderEach(batch.stream()
+                    .map(OrderTicket::getCommand)
+                    .toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("주문 접수 batch 처리 실패 ({}건)", batch.size(), e);
+            batch.forEach(ticket -> ticket.fail("주문 처리 중 오류가 발생했습니다."));
+        }
+    }
+}
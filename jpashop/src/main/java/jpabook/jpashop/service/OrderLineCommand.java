@@ -0,0 +1,15 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 주문 - 주문상품 1건
+ */
+@Getter
+@AllArgsConstructor
+public class OrderLineCommand {
+
+    private Long itemId;
+    private int count;
+}
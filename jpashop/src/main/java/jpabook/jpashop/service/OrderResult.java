@@ -0,0 +1,28 @@
+package jpabook.jpashop.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주문 1건 처리 결과 (OrderService.orderEach)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderResult {
+
+    private Long orderId;
+    private String failureReason;
+
+    public static OrderResult success(Long orderId) {
+        return new OrderResult(orderId, null);
+    }
+
+    public static OrderResult failure(String failureReason) {
+        return new OrderResult(null, failureReason);
+    }
+
+    public boolean isSuccess() {
+        return orderId != null;
+    }
+}
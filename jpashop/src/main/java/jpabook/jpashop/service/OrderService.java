@@ -1,16 +1,34 @@
 package jpabook.jpashop.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.config.CacheConfig;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderListDto;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.search.MemberNameIndex;
+import jpabook.jpashop.service.AggregateVersions.Aggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,15 +37,27 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class OrderService {
 
+    public static final int BULK_CHUNK_SIZE = 1000; // 대량 주문 시 flush, clear 단위
+
     private final ItemRepository itemRepository;
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final MemberNameIndex memberNameIndex;
+    private final AggregateVersions aggregateVersions;
 
     /**
      * 주문 생성
+     * 재고는 조건부 update 로 차감하므로 동시에 같은 상품을 주문해도 차감이 유실되지 않는다.
+     * 벌크 연산은 ItemCacheListener 를 거치지 않으므로 상품 캐시는 여기서 비운다. (커밋 이후 반영)
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEM_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ITEM, key = "#itemId")
+    })
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
+        aggregateVersions.changed(Aggregate.ORDER); // 커밋 이후 주문 조회 API ETag 변경
         // 엔티티 조회
         Member member = memberRepository.findOne(memberId);
         Item item = itemRepository.findOne(itemId);
@@ -36,31 +66,228 @@ public class OrderService {
         Delivery delivery = new Delivery();
         delivery.setAddress(member.getAddress());
 
+        // 재고 차감
+        itemRepository.removeStock(item, count);
+
         // 주문상품 생성
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
 
         // 주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
 
         // 주문 저장
         orderRepository.save(order); // cascade 옵션으로 인해 orderItem, delivery 도 함께 persist 된다.
+        orderSummaryRepository.save(OrderSummary.createOrderSummary(order)); // 주문 목록 조회용
 
         return order.getId();
     }
 
+    /**
+     * 대량 주문
+     * 재고는 상품별로 합산해서 상품마다 update 한 번으로 차감한다. (상품 id 순서로 차감해서 대량 주문끼리의 데드락 방지)
+     * 주문은 BULK_CHUNK_SIZE 건씩 저장하고 영속성 컨텍스트를 비운다. 하나라도 실패하면 전체 롤백된다.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEM_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ITEM, allEntries = true)
+    })
+    @Transactional
+    public BulkOrderResult orderAll(List<OrderCommand> commands) {
+        aggregateVersions.changed(Aggregate.ORDER);
+        long start = System.nanoTime();
+
+        // 재고 차감
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderCommand command : commands) {
+            for (OrderLineCommand line : command.getLines()) {
+                if (line.getCount() <= 0) {
+                    throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다.");
+                }
+                quantities.merge(line.getItemId(), line.getCount(), Integer::sum);
+            }
+        }
+        Map<Long, Item> items = findItems(quantities.keySet());
+        quantities.forEach((itemId, quantity) -> itemRepository.removeStock(items.get(itemId), quantity));
+
+        // 주문 저장
+        long rows = 0;
+        for (int from = 0; from < commands.size(); from += BULK_CHUNK_SIZE) {
+            rows += orderChunk(commands.subList(from, Math.min(from + BULK_CHUNK_SIZE, commands.size())));
+        }
+
+        return new BulkOrderResult(commands.size(), rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 주문 여러 건을 트랜잭션 하나로 처리 (OrderIngestionService 의 group commit)
+     * orderAll 과 달리 주문마다 결과를 따로 반환한다. 재고 부족 등으로 실패한 주문은 먼저 차감한 재고를 원복하고, 나머지 주문은 계속 처리한다.
+     * 실패를 트랜잭션 밖으로 던지지 않으므로 다른 주문까지 롤백되지 않는다.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEM_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ITEM, allEntries = true)
+    })
+    @Transactional
+    public List<OrderResult> orderEach(List<OrderCommand> commands) {
+        aggregateVersions.changed(Aggregate.ORDER);
+        List<OrderResult> results = new ArrayList<>(commands.size());
+        for (OrderCommand command : commands) {
+            try {
+                results.add(OrderResult.success(placeOrder(command)));
+            } catch (NotEnoughStockException | IllegalArgumentException e) {
+                results.add(OrderResult.failure(e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     /**
      * 주문 취소
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEM_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ITEM, allEntries = true)
+    })
     @Transactional
     public void cancelOrder(Long orderId) {
+        aggregateVersions.changed(Aggregate.ORDER);
+        Order order = orderRepository.findOne(orderId);
+        order.cancel(itemRepository); // JPA dirty checking 으로 인해 order 의 상태가 변경되면서 update 쿼리가 날라간다.
+        orderSummaryRepository.sync(order);
+    }
+
+    /**
+     * 배송 상태 변경
+     */
+    @Transactional
+    public void changeDeliveryStatus(Long orderId, DeliveryStatus deliveryStatus) {
+        aggregateVersions.changed(Aggregate.ORDER);
         Order order = orderRepository.findOne(orderId);
-        order.cancel(); // JPA dirty checking 으로 인해 order 의 상태가 변경되면서 update 쿼리가 날라간다.
+        order.getDelivery().setStatus(deliveryStatus);
+        orderSummaryRepository.sync(order);
+    }
+
+    /**
+     * totalPrice 저장 이전 주문의 totalPrice 를 주문상품 합계로 채운다. (한 번만 실행)
+     */
+    @Transactional
+    public int backfillTotalPrices() {
+        aggregateVersions.changed(Aggregate.ORDER);
+        return orderRepository.backfillTotalPrices();
+    }
+
+    /**
+     * 주문 목록 조회용 테이블 도입 이전 주문의 요약을 만든다. (한 번만 실행)
+     */
+    @Transactional
+    public int backfillOrderSummaries() {
+        aggregateVersions.changed(Aggregate.ORDER);
+        return orderSummaryRepository.backfill();
     }
 
     /**
      * 주문 검색
+     * 회원 이름 조건은 회원 이름 색인에서 회원 id 를 먼저 찾아서 id 조건으로 검색한다. (회원 테이블 전체 like 검색 방지)
      */
     public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByCriteria(orderSearch);
+        return orderRepository.findAllByCriteria(orderSearch, memberNameIndex.findMemberIds(orderSearch.getMemberName()));
+    }
+
+    /**
+     * 주문 목록 화면 (페이징)
+     */
+    public Page<OrderListDto> findOrderPage(OrderSearch orderSearch, Pageable pageable) {
+        return orderRepository.findListDtos(orderSearch, memberNameIndex.findMemberIds(orderSearch.getMemberName()),
+                pageable);
+    }
+
+    /**
+     * 이전 청크를 저장하면서 영속성 컨텍스트를 비웠으므로 회원, 상품은 청크마다 in 쿼리로 다시 조회한다.
+     */
+    private long orderChunk(List<OrderCommand> chunk) {
+        Map<Long, Member> members = memberRepository.findAllById(chunk.stream()
+                        .map(OrderCommand::getMemberId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        Map<Long, Item> items = findItems(chunk.stream()
+                .flatMap(command -> command.getLines().stream())
+                .map(OrderLineCommand::getItemId)
+                .collect(Collectors.toSet()));
+
+        List<Order> orders = new ArrayList<>();
+        long rows = 0;
+        for (OrderCommand command : chunk) {
+            Member member = members.get(command.getMemberId());
+            if (member == null) {
+                throw new IllegalArgumentException("존재하지 않는 회원입니다. memberId=" + command.getMemberId());
+            }
+
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+
+            OrderItem[] orderItems = command.getLines().stream()
+                    .map(line -> {
+                        Item item = items.get(line.getItemId());
+                        return OrderItem.createReservedOrderItem(item, item.getPrice(), line.getCount());
+                    })
+                    .toArray(OrderItem[]::new);
+
+            orders.add(Order.createOrder(member, delivery, orderItems));
+            rows += 2 + orderItems.length; // 주문 + 배송 + 주문상품
+        }
+
+        for (Order order : orders) {
+            orderRepository.save(order);
+            orderSummaryRepository.save(OrderSummary.createOrderSummary(order));
+        }
+        orderRepository.flushAndClear();
+        return rows;
+    }
+
+    private Long placeOrder(OrderCommand command) {
+        Member member = command.getMemberId() == null ? null : memberRepository.findOne(command.getMemberId());
+        if (member == null) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다. memberId=" + command.getMemberId());
+        }
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        try {
+            for (OrderLineCommand line : command.getLines()) {
+                if (line.getCount() <= 0) {
+                    throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다.");
+                }
+                Item item = line.getItemId() == null ? null : itemRepository.findOne(line.getItemId());
+                if (item == null) {
+                    throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + line.getItemId());
+                }
+
+                itemRepository.removeStock(item, line.getCount());
+                orderItems.add(OrderItem.createReservedOrderItem(item, item.getPrice(), line.getCount()));
+            }
+        } catch (NotEnoughStockException | IllegalArgumentException e) {
+            for (OrderItem orderItem : orderItems) {
+                itemRepository.addStock(orderItem.getItem(), orderItem.getCount()); // 먼저 차감한 재고 원복
+            }
+            throw e;
+        }
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        Order order = Order.createOrder(member, delivery, orderItems.toArray(OrderItem[]::new));
+        orderRepository.save(order);
+        orderSummaryRepository.save(OrderSummary.createOrderSummary(order));
+        return order.getId();
+    }
+
+    private Map<Long, Item> findItems(Set<Long> itemIds) {
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        for (Long itemId : itemIds) {
+            if (!items.containsKey(itemId)) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+            }
+        }
+        return items;
     }
 }
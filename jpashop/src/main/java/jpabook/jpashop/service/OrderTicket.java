@@ -0,0 +1,41 @@
+package jpabook.jpashop.service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.Getter;
+
+/**
+ * 주문 접수표 (OrderIngestionService)
+ * 접수 즉시 PENDING 으로 반환되고, 주문이 커밋되거나 실패하면 COMPLETED / FAILED 로 바뀐다.
+ * completion 은 처리가 끝나면 완료되므로 조회(polling) 대신 기다릴 수도 있다.
+ */
+@Getter
+public class OrderTicket {
+
+    private final String id = UUID.randomUUID().toString();
+    private final OrderCommand command;
+    private final CompletableFuture<OrderTicket> completion = new CompletableFuture<>();
+
+    private volatile OrderTicketStatus status = OrderTicketStatus.PENDING;
+    private volatile Long orderId;
+    private volatile String failureReason;
+
+    public OrderTicket(OrderCommand command) {
+        this.command = command;
+    }
+
+    void complete(OrderResult result) {
+        if (result.isSuccess()) {
+            this.orderId = result.getOrderId();
+            this.status = OrderTicketStatus.COMPLETED;
+        } else {
+            this.failureReason = result.getFailureReason();
+            this.status = OrderTicketStatus.FAILED;
+        }
+        completion.complete(this);
+    }
+
+    void fail(String failureReason) {
+        complete(OrderResult.failure(failureReason));
+    }
+}
@@ -0,0 +1,5 @@
+package jpabook.jpashop.service;
+
+public enum OrderTicketStatus {
+    PENDING, COMPLETED, FAILED
+}
@@ -0,0 +1,151 @@
+package jpabook.jpashop.api;
+
+import static jpabook.jpashop.monitor.QueryBudget.atMost;
+import static jpabook.jpashop.monitor.QueryBudget.noRepeatedStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.monitor.QueryCountResponseAdvice;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 초기 데이터(InitDb) 주문 2건 기준 SQL 문 수 예산
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "jpashop.query-monitor.repeat-threshold=2")
+class OrderApiControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager em;
+
+    Long committedMemberId; // ETag 는 커밋 이후에 바뀌므로 회원을 커밋하고, 끝나고 삭제한다.
+
+    @AfterEach
+    void deleteCommitted() {
+        if (committedMemberId != null) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    em.remove(em.find(Member.class, committedMemberId)));
+        }
+    }
+
+    @Test
+    @DisplayName("DTO 직접 조회(V5, V6)는 SQL 문 수 예산 안에서 실행된다.")
+    void query_budget() throws Exception {
+        mockMvc.perform(get("/api/v5/orders"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2))
+                .andExpect(noRepeatedStatements());
+
+        mockMvc.perform(get("/api/v6/orders"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1))
+                .andExpect(noRepeatedStatements());
+    }
+
+    @Test
+    @DisplayName("지연 로딩을 반복 초기화하는 V2 는 N+1 로 감지된다.")
+    void detect_n_plus_one() throws Exception {
+        // when
+        String repeated = mockMvc.perform(get("/api/v2/orders"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(QueryCountResponseAdvice.QUERY_REPEATED_HEADER);
+
+        // then
+        assertThat(Integer.parseInt(repeated)).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 If-None-Match 로 304 를 응답하고, 커밋된 변경이 있으면 새 ETag 로 응답한다.")
+    void conditional_get() throws Exception {
+        // given
+        String etag = mockMvc.perform(get("/api/v5/orders"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when, then
+        mockMvc.perform(get("/api/v5/orders").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Member member = new Member();
+        member.setName("etagMember" + System.nanoTime());
+        committedMemberId = memberService.join(member);
+        memberService.update(committedMemberId, member.getName() + "-changed");
+
+        mockMvc.perform(get("/api/v5/orders").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @DisplayName("주문 요약(V5) 조회의 offset, limit 이 범위를 벗어나면 400 을 응답한다.")
+    void simple_orders_bad_request() throws Exception {
+        mockMvc.perform(get("/api/v5/simple-orders").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v5/simple-orders").param("offset", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v5/simple-orders").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("keyset 페이징의 limit 이 범위를 벗어나거나 커서가 잘못되면 400 을 응답한다.")
+    void keyset_bad_request() throws Exception {
+        mockMvc.perform(get("/api/v3.1/orders").param("mode", "keyset").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v3.1/orders").param("mode", "keyset").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v3.1/orders").param("mode", "keyset").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v3.1/orders").param("mode", "keyset").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v3.1/orders").param("mode", "keyset").param("limit", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("주문 접수 대기열을 사용하지 않으면 주문 접수 API 는 404 를 응답한다.")
+    void order_ticket_disabled() throws Exception {
+        mockMvc.perform(post("/api/v1/order-tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"memberId\": 1, \"lines\": [{\"itemId\": 1, \"count\": 1}]}"))
+                .andExpect(status().isNotFound());
+    }
+}
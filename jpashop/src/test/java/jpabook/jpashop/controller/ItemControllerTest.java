@@ -0,0 +1,64 @@
+package jpabook.jpashop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.monitor.QueryCount;
+import jpabook.jpashop.monitor.QueryCountHolder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+@AutoConfigureMockMvc(addFilters = false) // QueryCountFilter 제외
+@SpringBootTest
+class ItemControllerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("상품 목록 화면은 전체 상품 대신 한 페이지만 SQL 문 2개(목록, count)로 조회한다.")
+    void item_list_query_budget() throws Exception {
+        // given
+        for (int i = 0; i < 30; i++) {
+            Book book = new Book();
+            book.setName("BOOK" + i);
+            book.setPrice(10000);
+            book.setStockQuantity(10);
+            em.persist(book);
+        }
+        em.flush();
+        em.clear();
+
+        // when - QueryCountFilter 대신 직접 센다. (화면 응답에는 SQL 문 수 헤더가 없음)
+        QueryCount queryCount = QueryCountHolder.start();
+        MvcResult result;
+        try {
+            result = mockMvc.perform(get("/items").param("page", "1").param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+        } finally {
+            QueryCountHolder.clear();
+        }
+
+        // then
+        Page<?> items = (Page<?>) result.getModelAndView().getModel().get("items");
+        assertThat(items.getContent()).hasSize(10);
+        assertThat(items.getTotalElements()).isGreaterThanOrEqualTo(30);
+        assertThat(queryCount.getTotal()).isBetween(1, 2);
+    }
+}
@@ -0,0 +1,88 @@
+package jpabook.jpashop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.monitor.QueryCount;
+import jpabook.jpashop.monitor.QueryCountHolder;
+import jpabook.jpashop.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+@AutoConfigureMockMvc(addFilters = false) // QueryCountFilter 제외
+@SpringBootTest
+class OrderControllerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("주문 목록 화면은 보여주는 주문 수와 상관없이 SQL 문 2개(목록, count)로 렌더링된다.")
+    void order_list_query_budget() throws Exception {
+        // given
+        for (int i = 0; i < 30; i++) {
+            createOrder("orderListMember" + i);
+        }
+        em.flush();
+        em.clear();
+
+        // when - QueryCountFilter 대신 직접 센다. (화면 응답에는 SQL 문 수 헤더가 없음)
+        QueryCount queryCount = QueryCountHolder.start();
+        MvcResult result;
+        try {
+            result = mockMvc.perform(get("/orders").param("size", "20"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+        } finally {
+            QueryCountHolder.clear();
+        }
+
+        // then
+        Page<?> orders = (Page<?>) result.getModelAndView().getModel().get("orders");
+        assertThat(orders.getContent()).hasSize(20);
+        assertThat(queryCount.getTotal()).as("템플릿 렌더링까지 포함한 SQL 문 수").isBetween(1, 2);
+        assertThat(queryCount.getRepeated(2)).as("렌더링 중 지연 로딩(N+1)이 없어야 한다.").isEmpty();
+    }
+
+    private void createOrder(String memberName) {
+        Member member = new Member();
+        member.setName(memberName);
+        member.setAddress(new Address("Seoul", "GangGa", "123-123"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        itemRepository.removeStock(book, 1);
+        em.persist(Order.createOrder(member, delivery, OrderItem.createReservedOrderItem(book, 10000, 1)));
+    }
+}
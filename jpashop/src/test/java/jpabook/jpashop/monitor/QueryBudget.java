@@ -0,0 +1,40 @@
+package jpabook.jpashop.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * API 의 SQL 문 수 예산 검증 (MockMvc)
+ * mockMvc.perform(get("/api/v5/orders")).andExpect(QueryBudget.atMost(2));
+ */
+public class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * 실행된 SQL 문 수가 maxStatements 를 넘으면 실패
+     */
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> assertThat(headerValue(result.getResponse().getHeader(
+                QueryCountResponseAdvice.QUERY_COUNT_HEADER)))
+                .as("%s 의 SQL 문 수 예산(%d) 초과", result.getRequest().getRequestURI(), maxStatements)
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    /**
+     * 바인딩 값만 다르게 반복 실행된 SQL(N+1)이 있으면 실패
+     */
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> assertThat(headerValue(result.getResponse().getHeader(
+                QueryCountResponseAdvice.QUERY_REPEATED_HEADER)))
+                .as("%s 에서 N+1 의심 SQL 발견", result.getRequest().getRequestURI())
+                .isZero();
+    }
+
+    private static int headerValue(String header) {
+        assertThat(header).as("SQL 문 수 헤더가 없습니다.").isNotNull();
+        return Integer.parseInt(header);
+    }
+}
@@ -0,0 +1,59 @@
+package jpabook.jpashop.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import jpabook.jpashop.domain.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FlatRowAssemblerTest {
+
+    FlatRowAssembler<OrderFlatDto, OrderQueryDto> assembler = OrderQueryRepository.ORDER_FLAT_ASSEMBLER;
+
+    @Test
+    @DisplayName("orderId 순으로 정렬된 row 를 주문 단위로 묶고, 순서를 유지한다.")
+    void assemble() throws Exception {
+        // given
+        List<OrderFlatDto> rows = List.of(
+                row(3L, "itemA"), row(3L, "itemB"),
+                row(5L, "itemC"),
+                row(9L, "itemD"), row(9L, "itemE"), row(9L, "itemF"));
+
+        // when
+        List<OrderQueryDto> result = assembler.assemble(rows);
+
+        // then
+        assertThat(result).extracting(OrderQueryDto::getOrderId).containsExactly(3L, 5L, 9L);
+        assertThat(result.get(0).getOrderItems()).extracting(OrderItemQueryDto::getItemName)
+                .containsExactly("itemA", "itemB");
+        assertThat(result.get(1).getOrderItems()).hasSize(1);
+        assertThat(result.get(2).getOrderItems()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("주문이 완성될 때마다 consumer 로 넘긴다.")
+    void assemble_streaming() throws Exception {
+        // given
+        List<OrderFlatDto> rows = List.of(row(1L, "itemA"), row(2L, "itemB"), row(2L, "itemC"));
+        List<Long> emitted = new ArrayList<>();
+
+        // when
+        assembler.assemble(rows.iterator(), order -> emitted.add(order.getOrderId()));
+
+        // then
+        assertThat(emitted).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("row 가 없으면 빈 결과를 반환한다.")
+    void assemble_empty() throws Exception {
+        assertThat(assembler.assemble(List.of())).isEmpty();
+    }
+
+    private OrderFlatDto row(Long orderId, String itemName) {
+        return new OrderFlatDto(orderId, "member", LocalDateTime.now(), OrderStatus.ORDER, null, itemName, 1000, 1);
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 병렬 조회는 별도 커넥션에서 실행되므로 커밋된 초기 데이터(InitDb)로 확인한다.
+ */
+@SpringBootTest
+class OrderQueryRepositoryTest {
+
+    @Autowired
+    OrderQueryRepository orderQueryRepository;
+
+    @Test
+    @DisplayName("분할 조회는 병렬 여부와 상관없이 같은 결과를 조회한다.")
+    void partition_parallel() throws Exception {
+        // given
+        List<OrderQueryDto> expected = orderQueryRepository.findAllByDto_optimization();
+
+        // when - 주문마다 분할
+        List<OrderQueryDto> parallel = orderQueryRepository.findAllByDto_partition(1, true);
+
+        // then
+        assertThat(parallel).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    }
+}
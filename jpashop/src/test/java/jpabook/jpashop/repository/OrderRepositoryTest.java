@@ -0,0 +1,106 @@
+package jpabook.jpashop.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+@SpringBootTest
+class OrderRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("keyset 페이징으로 모든 주문을 중복 없이 순서대로 조회한다.")
+    void keyset_paging() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            createOrder("member" + i);
+        }
+        em.flush();
+        em.clear();
+
+        long total = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+
+        // when
+        List<Order> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderKeysetPage page = orderRepository.findAllWithMemberDeliveryAfter(
+                    cursor == null ? null : OrderCursor.decode(cursor), 2);
+            result.addAll(page.getOrders());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // then
+        assertThat(result).hasSize((int) total);
+        assertThat(result).extracting(Order::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < result.size(); i++) {
+            Order prev = result.get(i - 1);
+            Order curr = result.get(i);
+            assertThat(prev.getOrderDate().isBefore(curr.getOrderDate())
+                    || (prev.getOrderDate().isEqual(curr.getOrderDate()) && prev.getId() < curr.getId()))
+                    .as("(orderDate, id) 순서로 정렬되어야 한다.").isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("회원 이름 like 검색은 색인과 같이 대소문자, 공백, 하이픈을 무시한다.")
+    void search_member_name_like() throws Exception {
+        // given
+        createOrder("Kim-Young Han");
+        createOrder("Lee");
+        em.flush();
+        em.clear();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName("kimyoung han");
+
+        // when - 색인에서 일치하는 회원이 너무 많은 경우 (memberIds == null)
+        List<Order> result = orderRepository.findAllByCriteria(orderSearch, null);
+
+        // then
+        assertThat(result).extracting(order -> order.getMember().getName()).containsExactly("Kim-Young Han");
+    }
+
+    private void createOrder(String memberName) {
+        Member member = new Member();
+        member.setName(memberName);
+        member.setAddress(new Address("Seoul", "GangGa", "123-123"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        itemRepository.removeStock(book, 1);
+        Order order = Order.createOrder(member, delivery, OrderItem.createReservedOrderItem(book, 10000, 1));
+        orderRepository.save(order);
+    }
+}
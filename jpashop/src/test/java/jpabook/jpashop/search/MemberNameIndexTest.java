@@ -0,0 +1,68 @@
+package jpabook.jpashop.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 색인은 커밋 이후에 반영되므로 테스트 전체를 트랜잭션으로 감싸지 않는다. (이름이 겹치지 않게 prefix 사용)
+ */
+@SpringBootTest
+class MemberNameIndexTest {
+
+    @Autowired
+    MemberNameIndex memberNameIndex;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Test
+    @DisplayName("회원 이름 일부로 주문을 검색하고, 이름을 변경하면 변경된 이름으로만 검색된다.")
+    void find_orders_by_member_name() throws Exception {
+        // given
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Member member = new Member();
+        member.setName(prefix + "Kim");
+        Long memberId = memberService.join(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        Long orderId = orderService.order(memberId, book.getId(), 1);
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(prefix.substring(2) + "ki"); // 중간 일부, 대소문자 무시
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+
+        // when
+        memberService.update(memberId, prefix + "Lee");
+
+        // then
+        assertThat(memberNameIndex.findMemberIds(prefix + "lee")).containsExactly(memberId);
+        assertThat(orderService.findOrders(orderSearch)).as("이전 이름으로는 검색되지 않는다.").isEmpty();
+
+        orderSearch.setMemberName(prefix.substring(2) + "Lee");
+        assertThat(orderService.findOrders(orderSearch)).extracting(Order::getId).containsExactly(orderId);
+        assertThat(memberNameIndex.findMemberIds(" ")).as("검색 조건 없음").isNull();
+    }
+}
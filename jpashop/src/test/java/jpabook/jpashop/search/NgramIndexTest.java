@@ -0,0 +1,48 @@
+package jpabook.jpashop.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NgramIndexTest {
+
+    @Test
+    @DisplayName("부분 문자열을 포함하는 문서만 찾고, 앞쪽 필드의 완전 일치 > 앞부분 일치 > 부분 일치 순으로 정렬한다.")
+    void search_ranking() throws Exception {
+        // given
+        NgramIndex index = new NgramIndex(2);
+        index.put(1L, Arrays.asList("자바 ORM 표준 JPA 프로그래밍", "김영한", "978-89-6077-842-2"));
+        index.put(2L, Arrays.asList("JPA", null, null));
+        index.put(3L, Arrays.asList("JPA 입문", null, null));
+        index.put(4L, Arrays.asList("스프링", "JPA 저자", null));
+        index.put(5L, Arrays.asList("JAPAN", null, null)); // j, p, a 가 모두 있지만 "jpa" 는 아니다.
+
+        // when
+        List<Long> result = index.search("jpa", 10);
+
+        // then
+        assertThat(result).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(index.search("9788960778422", 10)).as("ISBN 하이픈 무시").containsExactly(1L);
+        assertThat(index.search("영", 10)).as("n 보다 짧은 검색어").containsExactly(1L);
+        assertThat(index.search("jpa", 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("문서를 변경하면 이전 값으로는 검색되지 않는다.")
+    void put_replaces_document() throws Exception {
+        // given
+        NgramIndex index = new NgramIndex(2);
+        index.put(1L, Arrays.asList("JPA BOOK", null, null));
+
+        // when
+        index.put(1L, Arrays.asList("SPRING BOOK", null, null));
+
+        // then
+        assertThat(index.search("jpa", 10)).isEmpty();
+        assertThat(index.search("spring", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 트리 캐시 evict 는 커밋 이후에 반영되므로 캐시 테스트는 트랜잭션으로 감싸지 않는다.
+ */
+@SpringBootTest
+class CategoryServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Test
+    @Transactional
+    @DisplayName("하위 트리 전체와 상품을 조회하고, 카테고리를 이동하면 하위 카테고리의 path 도 변경된다.")
+    void subtree() throws Exception {
+        // given - 도서 > IT > JPA, 음반
+        Long book = categoryService.saveCategory("도서", null);
+        Long it = categoryService.saveCategory("IT", book);
+        Long jpa = categoryService.saveCategory("JPA", it);
+        Long album = categoryService.saveCategory("음반", null);
+
+        Item itBook = createBook("IT BOOK", it);
+        Item jpaBook = createBook("JPA BOOK", jpa);
+        createBook("ALBUM", album);
+        em.flush();
+        em.clear();
+
+        // when
+        List<Category> subtree = categoryService.findSubtree(book);
+
+        // then
+        assertThat(subtree).extracting(Category::getName).containsExactly("도서", "IT", "JPA");
+        assertThat(subtree).extracting(Category::getDepth).containsExactly(0, 1, 2);
+        assertThat(subtree.get(2).getItems()).extracting(Item::getName).containsExactly("JPA BOOK");
+        assertThat(categoryService.findItems(book)).extracting(Item::getId)
+                .containsExactlyInAnyOrder(itBook.getId(), jpaBook.getId());
+
+        // when - IT 를 음반 밑으로 이동
+        categoryService.moveCategory(it, album);
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(categoryService.findSubtree(book)).extracting(Category::getName).containsExactly("도서");
+        assertThat(categoryService.findSubtree(album)).extracting(Category::getName)
+                .containsExactly("음반", "IT", "JPA");
+        assertThat(categoryService.findSubtree(album)).extracting(Category::getDepth).containsExactly(0, 1, 2);
+        assertThatThrownBy(() -> categoryService.moveCategory(album, jpa))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("카테고리 트리는 캐시되고, 카테고리를 추가하면 캐시가 갱신된다.")
+    void tree_cache() throws Exception {
+        // given
+        Long root = categoryService.saveCategory("ROOT", null);
+        categoryService.saveCategory("CHILD", root);
+
+        List<CategoryNode> first = categoryService.findTree();
+
+        // when
+        List<CategoryNode> second = categoryService.findTree();
+        categoryService.saveCategory("GRANDCHILD", first.stream()
+                .filter(node -> node.getId().equals(root))
+                .findFirst().orElseThrow()
+                .getChildren().get(0).getId());
+        List<CategoryNode> updated = categoryService.findTree();
+
+        // then
+        assertThat(second).as("두 번째 조회는 캐시에서 가져온다.").isSameAs(first);
+        CategoryNode updatedRoot = updated.stream()
+                .filter(node -> node.getId().equals(root))
+                .findFirst().orElseThrow();
+        assertThat(updatedRoot.getChildren().get(0).getChildren())
+                .extracting(CategoryNode::getName).containsExactly("GRANDCHILD");
+    }
+
+    private Item createBook(String name, Long categoryId) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+
+        em.find(Category.class, categoryId).getItems().add(book);
+        return book;
+    }
+}
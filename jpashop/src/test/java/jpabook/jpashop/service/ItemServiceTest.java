@@ -0,0 +1,100 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemListDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 캐시 evict, 검색 색인 반영은 커밋 이후에 일어나므로 테스트 전체를 트랜잭션으로 감싸지 않는다.
+ * 대신 테스트에서 저장한 상품은 끝나고 삭제한다.
+ */
+@SpringBootTest
+class ItemServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    final List<Long> savedItemIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteItems() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                savedItemIds.forEach(itemId -> em.remove(em.find(Item.class, itemId))));
+    }
+
+    @Test
+    @DisplayName("상품 조회는 캐시되고, 상품을 수정하면 캐시가 갱신된다.")
+    void item_cache() throws Exception {
+        // given
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        saveItem(book);
+
+        ItemListDto first = itemService.findItem(book.getId());
+
+        // when
+        ItemListDto second = itemService.findItem(book.getId());
+        itemService.updateItem(book.getId(), "JPA2", 20000, 20);
+        ItemListDto updated = itemService.findItem(book.getId());
+
+        // then
+        assertThat(second).as("두 번째 조회는 캐시에서 가져온다.").isSameAs(first);
+        assertThat(updated.getName()).as("수정 후에는 다시 조회한다.").isEqualTo("JPA2");
+        assertThat(itemService.findItems()).extracting(ItemListDto::getName).contains("JPA2");
+    }
+
+    @Test
+    @DisplayName("상품을 저장, 수정하면 커밋 이후 검색 색인에 반영되고, 검색 결과는 랭킹 순으로 조회된다.")
+    void item_search() throws Exception {
+        // given
+        String keyword = UUID.randomUUID().toString().substring(0, 8);
+        Book book = new Book();
+        book.setName("JPA " + keyword);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        book.setAuthor("김영한");
+        saveItem(book);
+
+        Book exact = new Book();
+        exact.setName(keyword);
+        exact.setPrice(20000);
+        exact.setStockQuantity(10);
+        saveItem(exact);
+
+        // when
+        List<Item> result = itemService.search(keyword, 10);
+        itemService.updateItem(book.getId(), "SPRING", 10000, 10);
+
+        // then
+        assertThat(result).extracting(Item::getId).containsExactly(exact.getId(), book.getId());
+        assertThat(itemService.search(keyword, 10)).extracting(Item::getId).containsExactly(exact.getId());
+        assertThat(itemService.search("김영한", 10)).extracting(Item::getId).contains(book.getId());
+    }
+
+    private void saveItem(Item item) {
+        itemService.saveItem(item);
+        savedItemIds.add(item.getId());
+    }
+}
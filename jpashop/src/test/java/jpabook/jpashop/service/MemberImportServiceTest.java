@@ -0,0 +1,99 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * chunk 단위로 커밋되므로 테스트 전체를 트랜잭션으로 감싸지 않는다. (이름이 겹치지 않게 prefix 사용)
+ * chunk-size 를 바꾸려고 컨텍스트를 새로 띄우지 않고 MemberImportService 를 직접 생성한다.
+ * 커밋된 회원은 끝나고 삭제한다.
+ */
+@SpringBootTest
+class MemberImportServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    MemberImportService memberImportService;
+    String prefix;
+
+    @BeforeEach
+    void setUp() {
+        memberImportService = new MemberImportService(memberService, 2);
+        prefix = UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    @AfterEach
+    void deleteMembers() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.name like :prefix")
+                        .setParameter("prefix", prefix + "%")
+                        .executeUpdate());
+    }
+
+    @Test
+    @DisplayName("CSV 를 chunk 단위로 저장하고, 중복된 이름과 형식이 잘못된 row 는 건너뛴다.")
+    void import_csv() throws Exception {
+        // given
+        Member existing = new Member();
+        existing.setName(prefix + "memberA");
+        memberService.join(existing);
+
+        String csv = String.join("\n",
+                "name,city,street,zipcode",
+                prefix + "memberA,Seoul,street,111", // 이미 가입된 이름
+                prefix + "memberB,Seoul,street,222",
+                "\"" + prefix + "memberC\",\"Busan, Haeundae\",street,333",
+                prefix + "memberD,Seoul,street", // 형식 오류
+                prefix + "memberB,Seoul,street,444", // 파일 안에서 중복 (다른 chunk)
+                prefix + "memberE,Seoul,street,555");
+
+        // when
+        MemberImportResult result = memberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result.getRows()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+
+        List<String> names = List.of(prefix + "memberA", prefix + "memberB", prefix + "memberC",
+                prefix + "memberD", prefix + "memberE");
+        assertThat(memberRepository.findExistingNames(names))
+                .containsExactlyInAnyOrder(prefix + "memberA", prefix + "memberB", prefix + "memberC",
+                        prefix + "memberE");
+    }
+
+    @Test
+    @DisplayName("큰따옴표로 감싼 값 안의 쉼표와 따옴표를 처리한다.")
+    void parse_line() throws Exception {
+        assertThat(MemberImportService.parseLine("kim,\"Seoul, Gangnam\",\"\"\"A\"\" street\",123"))
+                .containsExactly("kim", "Seoul, Gangnam", "\"A\" street", "123");
+    }
+}
@@ -3,8 +3,15 @@ package jpabook.jpashop.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.DuplicateMemberException;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +28,15 @@ class MemberServiceTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
     @Test
 //    @Rollback(false) // @Transactional 은 기본적으로 롤백을 하기 때문에, 롤백을 하지 않도록 설정 (테스트 결과를 DB 에 반영하고 싶을 때 사용)
     @DisplayName("회원 가입이 된다.")
@@ -53,4 +69,70 @@ class MemberServiceTest {
         assertThatThrownBy(() -> memberService.join(memberB))
                 .isInstanceOf(IllegalStateException.class);
     }
+
+    @Test
+    @DisplayName("대량 가입 시 이미 가입된 이름과 요청 안에서 중복된 이름을 한 번에 찾는다.")
+    void join_all_duplicate_names() throws Exception {
+        // given
+        memberService.join(createMember("memberA"));
+
+        List<Member> members = List.of(
+                createMember("memberA"), // 이미 가입된 이름
+                createMember("memberB"),
+                createMember("memberC"),
+                createMember("memberC")); // 요청 안에서 중복
+
+        // then
+        assertThatThrownBy(() -> memberService.joinAll(members))
+                .isInstanceOf(DuplicateMemberException.class)
+                .extracting("names")
+                .asList()
+                .containsExactlyInAnyOrder("memberA", "memberC");
+    }
+
+    @Test
+    @DisplayName("대량 가입이 된다.")
+    void join_all() throws Exception {
+        // given
+        List<Member> members = List.of(createMember("memberA"), createMember("memberB"));
+
+        // when
+        List<Long> ids = memberService.joinAll(members);
+
+        // then
+        assertThat(ids).hasSize(2);
+        assertThat(memberRepository.findExistingNames(List.of("memberA", "memberB", "memberC")))
+                .containsExactlyInAnyOrder("memberA", "memberB");
+    }
+
+    @Test
+    @DisplayName("회원 이름을 변경하면 주문 목록 조회용 테이블의 회원 이름도 변경된다.")
+    void update_member_name() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("member");
+        member.setAddress(new Address("Seoul", "GangGa", "123-123"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+
+        Long orderId = orderService.order(member.getId(), book.getId(), 1);
+
+        // when
+        memberService.update(member.getId(), "renamed");
+        em.clear();
+
+        // then
+        assertThat(orderSummaryRepository.findOne(orderId).getMemberName()).isEqualTo("renamed");
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        return member;
+    }
 }
@@ -0,0 +1,55 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+@SpringBootTest
+class OrderExportServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    OrderExportService orderExportService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("주문 하나당 한 줄의 JSON 으로 export 된다.")
+    void export_ndjson() throws Exception {
+        // given
+        long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+        long orderItemCount = em.createQuery("select count(oi) from OrderItem oi", Long.class).getSingleResult();
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportAll(out);
+
+        // then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(orderCount);
+        assertThat(lines).hasSize((int) orderCount);
+
+        int exportedItems = 0;
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            assertThat(order.get("orderId").isNumber()).isTrue();
+            exportedItems += order.get("orderItems").size();
+        }
+        assertThat(exportedItems).isEqualTo(orderItemCount);
+    }
+}
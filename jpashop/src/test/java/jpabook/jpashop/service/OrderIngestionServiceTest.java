@@ -0,0 +1,139 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * writer 스레드가 별도 트랜잭션으로 커밋하므로 테스트 전체를 트랜잭션으로 감싸지 않는다.
+ * 대신 테스트에서 커밋한 회원, 상품, 주문은 끝나고 삭제한다.
+ */
+@SpringBootTest(properties = {
+        "jpashop.ingestion.enabled=true",
+        "jpashop.ingestion.batch-size=4",
+        "jpashop.ingestion.linger=50ms"
+})
+class OrderIngestionServiceTest {
+
+    @Autowired
+    OrderIngestionService orderIngestionService;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager em;
+
+    Member member;
+    final List<Book> books = new ArrayList<>();
+
+    @AfterEach
+    void deleteCommitted() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (member != null) {
+                em.createQuery("delete from OrderSummary s where s.memberId = :memberId")
+                        .setParameter("memberId", member.getId())
+                        .executeUpdate();
+                em.createQuery("select o from Order o where o.member.id = :memberId", Order.class)
+                        .setParameter("memberId", member.getId())
+                        .getResultList()
+                        .forEach(em::remove); // 주문상품, 배송은 cascade
+                em.remove(em.find(Member.class, member.getId()));
+            }
+            books.forEach(book -> em.remove(em.find(Item.class, book.getId())));
+        });
+    }
+
+    @Test
+    @DisplayName("접수된 주문은 모아서 커밋되고, 재고가 부족한 주문은 접수표별로 실패한다.")
+    void ingest() throws Exception {
+        // given
+        member = new Member();
+        member.setName("ingestionMember");
+        member.setAddress(new Address("Seoul", "GangGa", "123-123"));
+        memberService.join(member);
+
+        Book hot = createBook("HOT", 5);
+        Book other = createBook("OTHER", 10);
+
+        // when
+        List<OrderTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tickets.add(orderIngestionService.submit(new OrderCommand(member.getId(),
+                    List.of(new OrderLineCommand(hot.getId(), 1)))));
+        }
+        OrderTicket partial = orderIngestionService.submit(new OrderCommand(member.getId(), List.of(
+                new OrderLineCommand(other.getId(), 3),
+                new OrderLineCommand(hot.getId(), 1)))); // HOT 재고 부족
+
+        for (OrderTicket ticket : tickets) {
+            ticket.getCompletion().get(10, TimeUnit.SECONDS);
+        }
+        partial.getCompletion().get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus() == OrderTicketStatus.COMPLETED).hasSize(5);
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus() == OrderTicketStatus.FAILED)
+                .hasSize(3)
+                .allSatisfy(ticket -> assertThat(ticket.getFailureReason()).isEqualTo("need more stock"));
+        assertThat(orderIngestionService.findTicket(partial.getId()).getStatus()).isEqualTo(OrderTicketStatus.FAILED);
+
+        assertThat(itemService.findItem(hot.getId()).getStockQuantity()).isZero();
+        assertThat(itemService.findItem(other.getId()).getStockQuantity()).as("실패한 주문의 재고는 원복된다.")
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("종료된 대기열은 주문을 접수하지 않는다.")
+    void submit_after_stop() throws Exception {
+        // given
+        OrderIngestionService stopped = new OrderIngestionService(orderService, true, 10, 4, Duration.ofMillis(50),
+                Duration.ofMinutes(1));
+        stopped.start();
+
+        // when
+        stopped.stop();
+
+        // then
+        assertThatThrownBy(() -> stopped.submit(new OrderCommand(1L, List.of(new OrderLineCommand(1L, 1)))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stopped.isRunning()).isFalse();
+    }
+
+    private Book createBook(String name, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        books.add(book);
+        return book;
+    }
+}
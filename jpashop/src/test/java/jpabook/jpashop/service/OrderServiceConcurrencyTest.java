@@ -0,0 +1,82 @@
+package jpabook.jpashop.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 여러 스레드가 각자 트랜잭션을 커밋해야 하므로 테스트 전체를 트랜잭션으로 감싸지 않는다.
+ */
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Test
+    @DisplayName("같은 상품을 동시에 주문해도 재고 차감이 유실되지 않는다.")
+    void concurrent_order() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("concurrencyMember");
+        member.setAddress(new Address("Seoul", "GangGa", "123-123"));
+        memberService.join(member);
+
+        Book book = new Book();
+        book.setName("JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        int threadCount = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.order(member.getId(), book.getId(), 1);
+                    return true;
+                } catch (NotEnoughStockException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int success = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                success++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(success).as("재고 수량만큼만 주문이 성공한다.").isEqualTo(10);
+        assertThat(itemService.findItem(book.getId()).getStockQuantity()).as("재고는 0 이 된다.").isZero();
+    }
+}
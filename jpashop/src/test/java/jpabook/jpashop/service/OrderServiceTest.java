@@ -5,14 +5,20 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +38,9 @@ class OrderServiceTest {
     @Autowired
     OrderRepository orderRepository;
 
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
     @Test
     @DisplayName("주문이 성공한다.")
     void order() throws Exception {
@@ -74,6 +83,77 @@ class OrderServiceTest {
         assertThat(item.getStockQuantity()).as("주문이 취소된 상품은 재고가 원복되어야 한다.").isEqualTo(10);
     }
 
+    @Test
+    @DisplayName("주문 목록 조회용 테이블은 주문, 배송 상태 변경, 주문 취소 시 함께 변경된다.")
+    void order_summary() throws Exception {
+        // given
+        Member member = createMember();
+        Item item = createBook("JPA", 10000, 10);
+
+        // when
+        Long orderId = orderService.order(member.getId(), item.getId(), 2);
+        OrderSummary ordered = orderSummaryRepository.findOne(orderId);
+
+        // then
+        assertThat(ordered.getMemberName()).isEqualTo("memberA");
+        assertThat(ordered.getOrderStatus()).isEqualTo(OrderStatus.ORDER);
+        assertThat(ordered.getAddress().getCity()).isEqualTo("Seoul");
+
+        // when
+        orderService.changeDeliveryStatus(orderId, DeliveryStatus.READY);
+        orderService.cancelOrder(orderId);
+
+        // then
+        OrderSummary canceled = orderSummaryRepository.findOne(orderId);
+        assertThat(canceled.getDeliveryStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(canceled.getOrderStatus()).isEqualTo(OrderStatus.CANCEL);
+    }
+
+    @Test
+    @DisplayName("주문 목록 조회용 테이블에 없는 주문도 배송 상태 변경, 주문 취소 시 요약이 생성된다.")
+    void order_summary_missing() throws Exception {
+        // given - 요약 없이 저장된 주문
+        Member member = createMember();
+        Item item = createBook("JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), item.getId(), 2);
+        em.remove(orderSummaryRepository.findOne(orderId));
+        em.flush();
+
+        // when
+        orderService.changeDeliveryStatus(orderId, DeliveryStatus.READY);
+        orderService.cancelOrder(orderId);
+
+        // then
+        OrderSummary canceled = orderSummaryRepository.findOne(orderId);
+        assertThat(canceled.getMemberName()).isEqualTo("memberA");
+        assertThat(canceled.getDeliveryStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(canceled.getOrderStatus()).isEqualTo(OrderStatus.CANCEL);
+    }
+
+    @Test
+    @DisplayName("주문 목록 조회용 테이블 도입 이전 주문은 backfill 로 요약이 생성된다.")
+    void order_summary_backfill() throws Exception {
+        // given - 요약 없이 저장된 주문
+        Member member = createMember();
+        Item item = createBook("JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), item.getId(), 2);
+        em.remove(orderSummaryRepository.findOne(orderId));
+        em.flush();
+        em.clear();
+
+        // when
+        int backfilled = orderService.backfillOrderSummaries();
+        em.clear();
+
+        // then
+        OrderSummary summary = orderSummaryRepository.findOne(orderId);
+        assertThat(backfilled).isEqualTo(1);
+        assertThat(summary.getMemberName()).isEqualTo("memberA");
+        assertThat(summary.getOrderStatus()).isEqualTo(OrderStatus.ORDER);
+        assertThat(summary.getDeliveryStatus()).isEqualTo(orderRepository.findOne(orderId).getDelivery().getStatus());
+        assertThat(summary.getAddress().getCity()).isEqualTo("Seoul");
+    }
+
     @Test
     @DisplayName("주문 상품의 재고 수량이 초과하면 예외가 발생한다.")
     void order_item_max_count_exception() throws Exception {
@@ -89,6 +169,82 @@ class OrderServiceTest {
                 .isInstanceOf(NotEnoughStockException.class);
     }
 
+    @Test
+    @DisplayName("대량 주문은 주문상품 여러 개를 가진 주문을 한 번에 생성한다.")
+    void order_all() throws Exception {
+        // given
+        Member member = createMember();
+        Item book1 = createBook("JPA1", 10000, 100);
+        Item book2 = createBook("JPA2", 20000, 100);
+
+        List<OrderCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            commands.add(new OrderCommand(member.getId(), List.of(
+                    new OrderLineCommand(book1.getId(), 1),
+                    new OrderLineCommand(book2.getId(), 2))));
+        }
+
+        // when
+        BulkOrderResult result = orderService.orderAll(commands);
+
+        // then
+        assertThat(result.getOrders()).isEqualTo(10);
+        assertThat(result.getRows()).as("주문 + 배송 + 주문상품 row 수").isEqualTo(10 * (1 + 1 + 2));
+
+        long orderCount = em.createQuery("select count(o) from Order o where o.member.id = :memberId", Long.class)
+                .setParameter("memberId", member.getId())
+                .getSingleResult();
+        assertThat(orderCount).isEqualTo(10);
+        assertThat(em.find(Item.class, book1.getId()).getStockQuantity()).isEqualTo(90);
+        assertThat(em.find(Item.class, book2.getId()).getStockQuantity()).isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("대량 주문의 상품별 합계 수량이 재고를 초과하면 예외가 발생한다.")
+    void order_all_not_enough_stock() throws Exception {
+        // given
+        Member member = createMember();
+        Item book = createBook("JPA", 10000, 10);
+
+        List<OrderCommand> commands = List.of(
+                new OrderCommand(member.getId(), List.of(new OrderLineCommand(book.getId(), 6))),
+                new OrderCommand(member.getId(), List.of(new OrderLineCommand(book.getId(), 6))));
+
+        // then
+        assertThatThrownBy(() -> orderService.orderAll(commands))
+                .isInstanceOf(NotEnoughStockException.class);
+    }
+
+    @Test
+    @DisplayName("전체 주문 가격은 주문 시 저장되고, 저장되지 않은 과거 주문은 주문상품 합계로 채운다.")
+    void total_price() throws Exception {
+        // given
+        Member member = createMember();
+        Item book1 = createBook("JPA1", 10000, 100);
+        Item book2 = createBook("JPA2", 20000, 100);
+
+        Long orderId = orderService.orderEach(List.of(new OrderCommand(member.getId(), List.of(
+                new OrderLineCommand(book1.getId(), 1),
+                new OrderLineCommand(book2.getId(), 2))))).get(0).getOrderId();
+        em.flush();
+
+        // totalPrice 저장 이전 주문
+        em.createNativeQuery("update orders set total_price = null where order_id = :orderId")
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+        em.clear();
+
+        // when
+        Map<Long, Integer> totalPrices = orderRepository.findTotalPrices(List.of(orderId));
+        int backfilled = orderService.backfillTotalPrices();
+        em.clear();
+
+        // then
+        assertThat(totalPrices).containsEntry(orderId, 10000 + 20000 * 2);
+        assertThat(backfilled).isGreaterThanOrEqualTo(1);
+        assertThat(orderRepository.findOne(orderId).getTotalPrice()).isEqualTo(10000 + 20000 * 2);
+    }
+
     private Member createMember() {
         Member member = new Member();
         member.setName("memberA");
@@ -0,0 +1,34 @@
+package study.querydsl.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 가상 스레드 실행 모드 (querydsl.virtual-threads.enabled=true, JDK 21 이상)
+ * 톰캣 요청 처리 스레드를 가상 스레드로 바꾼다. 컨트롤러에서 호출하는 리포지토리, JDBC 호출도 같은 가상 스레드에서 실행된다.
+ * pinning 리포트(JFR)는 jpashop 의 VirtualThreadPinningMonitor 에서만 제공한다. 여기서는 실행 모드 전환만 한다.
+ * 소스 호환성이 17 이므로 Executors.newVirtualThreadPerTaskExecutor() 는 리플렉션으로 호출한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. (현재 " + Runtime.version() + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 Executor 를 생성할 수 없습니다.", e);
+        }
+    }
+}